@@ -0,0 +1,38 @@
+//: containers/jmh/ArrayAsListBenchmarks.java
+// The "Array as List" tests of containers.ListPerformance.
+package containers.jmh;
+import java.util.*;
+import java.util.concurrent.*;
+import net.mindview.util.*;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArrayAsListBenchmarks {
+  @Param({ "10", "100", "1000", "10000" })
+  int size;
+  List<Integer> list;
+  int[] indexes = new int[1024];
+  int next;
+  @Setup
+  public void fill() {
+    // A non-resizeable array-backed list:
+    list = Arrays.asList(Generated.array(Integer.class,
+      new CountingGenerator.Integer(), size));
+    Random rand = new Random(47);
+    for(int i = 0; i < indexes.length; i++)
+      indexes[i] = rand.nextInt(size);
+  }
+  @Benchmark
+  public Integer get() {
+    return list.get(indexes[next++ & (indexes.length - 1)]);
+  }
+  @Benchmark
+  public Integer set() {
+    return list.set(indexes[next++ & (indexes.length - 1)], 47);
+  }
+} ///:~
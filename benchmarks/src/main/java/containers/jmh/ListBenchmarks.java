@@ -0,0 +1,91 @@
+//: containers/jmh/ListBenchmarks.java
+// JMH version of the containers.ListPerformance tests.
+package containers.jmh;
+import java.util.*;
+import java.util.concurrent.*;
+import net.mindview.util.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListBenchmarks {
+  @Param({ "ArrayList", "LinkedList", "Vector" })
+  String type;
+  // The sizes of Tester.defaultParams:
+  @Param({ "10", "100", "1000", "10000" })
+  int size;
+  List<Integer> list;
+  // Random positions, chosen before timing starts:
+  int[] indexes = new int[1024];
+  int next;
+  ListIterator<Integer> middle;
+  int added;
+  static List<Integer> newList(String type) {
+    if(type.equals("ArrayList")) return new ArrayList<Integer>();
+    if(type.equals("LinkedList")) return new LinkedList<Integer>();
+    if(type.equals("Vector")) return new Vector<Integer>();
+    throw new IllegalArgumentException(type);
+  }
+  @Setup(Level.Iteration)
+  public void fill() {
+    list = newList(type);
+    list.addAll(new CountingIntegerList(size));
+    Random rand = new Random(47);
+    for(int i = 0; i < indexes.length; i++)
+      indexes[i] = rand.nextInt(size);
+    middle = list.listIterator(size / 2);
+    added = 0;
+  }
+  // Fills the list from empty; one operation is size adds:
+  @Benchmark
+  public List<Integer> add() {
+    list.clear();
+    for(int j = 0; j < size; j++)
+      list.add(j);
+    return list;
+  }
+  @Benchmark
+  public Integer get() {
+    return list.get(indexes[next++ & (indexes.length - 1)]);
+  }
+  @Benchmark
+  public Integer set() {
+    return list.set(indexes[next++ & (indexes.length - 1)], 47);
+  }
+  // Inserts in the middle through a ListIterator. The
+  // original grew the list without limit; here the
+  // inserted elements are trimmed every size inserts,
+  // so the list stays between size and 2 * size:
+  @Benchmark
+  public void iteradd() {
+    middle.add(47);
+    if(++added == size) {
+      list.subList(size / 2, size / 2 + added).clear();
+      middle = list.listIterator(size / 2);
+      added = 0;
+    }
+  }
+  // Inserts near the front, trimmed the same way:
+  @Benchmark
+  public void insert() {
+    list.add(5, 47); // Minimize random-access cost
+    if(++added == size) {
+      list.subList(5, 5 + added).clear();
+      added = 0;
+    }
+  }
+  // Refills, then removes near the front until only five
+  // are left; one operation is the whole cycle:
+  @Benchmark
+  public void remove(Blackhole bh) {
+    list.clear();
+    list.addAll(new CountingIntegerList(size));
+    while(list.size() > 5)
+      bh.consume(list.remove(5));
+  }
+} ///:~
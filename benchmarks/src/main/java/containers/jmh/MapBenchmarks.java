@@ -0,0 +1,68 @@
+//: containers/jmh/MapBenchmarks.java
+// JMH version of the containers.MapPerformance tests.
+package containers.jmh;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapBenchmarks {
+  @Param({ "TreeMap", "HashMap", "LinkedHashMap",
+    "IdentityHashMap", "WeakHashMap", "Hashtable" })
+  String type;
+  @Param({ "10", "100", "1000", "10000" })
+  int size;
+  Map<Integer,Integer> map;
+  // Keys for get(), half of them present as in the
+  // original's span of 2 * size:
+  Integer[] keys = new Integer[1024];
+  int next;
+  static Map<Integer,Integer> newMap(String type) {
+    if(type.equals("TreeMap"))
+      return new TreeMap<Integer,Integer>();
+    if(type.equals("HashMap"))
+      return new HashMap<Integer,Integer>();
+    if(type.equals("LinkedHashMap"))
+      return new LinkedHashMap<Integer,Integer>();
+    if(type.equals("IdentityHashMap"))
+      return new IdentityHashMap<Integer,Integer>();
+    if(type.equals("WeakHashMap"))
+      return new WeakHashMap<Integer,Integer>();
+    if(type.equals("Hashtable"))
+      return new Hashtable<Integer,Integer>();
+    throw new IllegalArgumentException(type);
+  }
+  @Setup
+  public void fill() {
+    map = newMap(type);
+    for(int j = 0; j < size; j++)
+      map.put(j, j);
+    Random rand = new Random(47);
+    for(int i = 0; i < keys.length; i++)
+      keys[i] = rand.nextInt(2 * size);
+  }
+  // Refills from empty; one operation is size puts:
+  @Benchmark
+  public Map<Integer,Integer> put() {
+    map.clear();
+    for(int j = 0; j < size; j++)
+      map.put(j, j);
+    return map;
+  }
+  @Benchmark
+  public Integer get() {
+    return map.get(keys[next++ & (keys.length - 1)]);
+  }
+  // One operation is a pass over every entry:
+  @Benchmark
+  public void iterate(Blackhole bh) {
+    for(Map.Entry<Integer,Integer> e : map.entrySet())
+      bh.consume(e);
+  }
+} ///:~
@@ -0,0 +1,49 @@
+//: containers/jmh/QueueBenchmarks.java
+// The "Queue tests" of containers.ListPerformance. Each
+// operation fills or drains a whole LinkedList of size.
+package containers.jmh;
+import java.util.*;
+import java.util.concurrent.*;
+import net.mindview.util.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QueueBenchmarks {
+  @Param({ "10", "100", "1000", "10000" })
+  int size;
+  LinkedList<Integer> list = new LinkedList<Integer>();
+  @Benchmark
+  public LinkedList<Integer> addFirst() {
+    list.clear();
+    for(int j = 0; j < size; j++)
+      list.addFirst(47);
+    return list;
+  }
+  @Benchmark
+  public LinkedList<Integer> addLast() {
+    list.clear();
+    for(int j = 0; j < size; j++)
+      list.addLast(47);
+    return list;
+  }
+  @Benchmark
+  public void rmFirst(Blackhole bh) {
+    list.clear();
+    list.addAll(new CountingIntegerList(size));
+    while(list.size() > 0)
+      bh.consume(list.removeFirst());
+  }
+  @Benchmark
+  public void rmLast(Blackhole bh) {
+    list.clear();
+    list.addAll(new CountingIntegerList(size));
+    while(list.size() > 0)
+      bh.consume(list.removeLast());
+  }
+} ///:~
@@ -0,0 +1,37 @@
+//: containers/jmh/RunBenchmarks.java
+// Runs the container benchmarks with the GC profiler, so
+// allocation rates are reported alongside throughput and
+// average time. Any JMH options on the command line, such
+// as a benchmark pattern, -p size=1000, -l or -h, are
+// honored.
+package containers.jmh;
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+public class RunBenchmarks {
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmd = new CommandLineOptions(args);
+    if(cmd.shouldHelp()) {
+      cmd.showHelp();
+      return;
+    }
+    ChainedOptionsBuilder options =
+      new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class);
+    if(cmd.getIncludes().isEmpty())
+      options.include("containers\\.jmh\\..*");
+    Options built = options.build();
+    Runner runner = new Runner(built);
+    // The listing options, as JMH's own Main handles them:
+    if(cmd.shouldList())
+      runner.list();
+    else if(cmd.shouldListWithParams())
+      runner.listWithParams(cmd);
+    else if(cmd.shouldListProfilers())
+      cmd.listProfilers();
+    else if(cmd.shouldListResultFormats())
+      cmd.listResultFormats();
+    else
+      runner.run();
+  }
+} ///:~
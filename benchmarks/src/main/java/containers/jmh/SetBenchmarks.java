@@ -0,0 +1,56 @@
+//: containers/jmh/SetBenchmarks.java
+// JMH version of the containers.SetPerformance tests.
+package containers.jmh;
+import java.util.*;
+import java.util.concurrent.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SetBenchmarks {
+  @Param({ "TreeSet", "HashSet", "LinkedHashSet" })
+  String type;
+  @Param({ "10", "100", "1000", "10000" })
+  int size;
+  Set<Integer> set;
+  Integer[] keys = new Integer[1024];
+  int next;
+  static Set<Integer> newSet(String type) {
+    if(type.equals("TreeSet")) return new TreeSet<Integer>();
+    if(type.equals("HashSet")) return new HashSet<Integer>();
+    if(type.equals("LinkedHashSet"))
+      return new LinkedHashSet<Integer>();
+    throw new IllegalArgumentException(type);
+  }
+  @Setup
+  public void fill() {
+    set = newSet(type);
+    for(int j = 0; j < size; j++)
+      set.add(j);
+    Random rand = new Random(47);
+    for(int i = 0; i < keys.length; i++)
+      keys[i] = rand.nextInt(2 * size);
+  }
+  // Refills from empty; one operation is size adds:
+  @Benchmark
+  public Set<Integer> add() {
+    set.clear();
+    for(int j = 0; j < size; j++)
+      set.add(j);
+    return set;
+  }
+  @Benchmark
+  public boolean contains() {
+    return set.contains(keys[next++ & (keys.length - 1)]);
+  }
+  @Benchmark
+  public void iterate(Blackhole bh) {
+    for(Integer i : set)
+      bh.consume(i);
+  }
+} ///:~
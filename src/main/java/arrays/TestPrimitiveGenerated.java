@@ -0,0 +1,29 @@
+//: arrays/TestPrimitiveGenerated.java
+package arrays;
+// Filling primitive arrays without boxing.
+import java.util.*;
+import net.mindview.util.*;
+import static net.mindview.util.Print.*;
+
+public class TestPrimitiveGenerated {
+  public static void main(String[] args) {
+    int size = 6;
+    int[] a1 = Generated.intArray(
+      new CountingGenerator.Integer(), size);
+    print("a1 = " + Arrays.toString(a1));
+    long[] a2 = Generated.longArray(
+      new CountingGenerator.Long(), size);
+    print("a2 = " + Arrays.toString(a2));
+    double[] a3 = Generated.doubleArray(
+      new CountingGenerator.Double(), size);
+    print("a3 = " + Arrays.toString(a3));
+    int[] a4 = Generated.intArray(
+      new int[size], new RandomGenerator.Integer());
+    print("a4 = " + Arrays.toString(a4));
+  }
+} /* Output:
+a1 = [0, 1, 2, 3, 4, 5]
+a2 = [0, 1, 2, 3, 4, 5]
+a3 = [0.0, 1.0, 2.0, 3.0, 4.0, 5.0]
+a4 = [9258, 555, 6693, 1861, 961, 429]
+*///:~
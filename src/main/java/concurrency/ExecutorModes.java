@@ -0,0 +1,94 @@
+//: concurrency/ExecutorModes.java
+package concurrency;
+// A burst of blocking tasks on each DaemonThreadPoolExecutor
+// mode, watched through its MonitoredExecutor metrics.
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import net.mindview.util.*;
+import static net.mindview.util.Print.*;
+
+public class ExecutorModes {
+  static final int TASKS = 2000;
+  static void burst(String name, final MonitoredExecutor exec)
+  throws Exception {
+    final AtomicInteger peakThreads = new AtomicInteger();
+    final AtomicInteger peakQueue = new AtomicInteger();
+    final AtomicBoolean done = new AtomicBoolean();
+    // Sample the metrics while the burst runs:
+    Thread sampler = new Thread() {
+      public void run() {
+        while(!done.get()) {
+          peakThreads.set(Math.max(peakThreads.get(),
+            exec.activeThreads()));
+          peakQueue.set(Math.max(peakQueue.get(),
+            exec.queueDepth()));
+          Thread.yield();
+        }
+      }
+    };
+    sampler.setDaemon(true);
+    sampler.start();
+    final CountDownLatch finished = new CountDownLatch(TASKS);
+    long start = System.nanoTime();
+    for(int i = 0; i < TASKS; i++)
+      exec.execute(new Runnable() {
+        public void run() {
+          try {
+            TimeUnit.MILLISECONDS.sleep(5); // Blocking I/O
+          } catch(InterruptedException e) {
+            // Shutting down
+          } finally {
+            finished.countDown();
+          }
+        }
+      });
+    finished.await();
+    long ms = (System.nanoTime() - start) / 1000000;
+    done.set(true);
+    sampler.join();
+    exec.shutdown();
+    exec.awaitTermination(5, TimeUnit.SECONDS);
+    print(String.format("%-24s %6d %8d %8d %9d", name, ms,
+      peakThreads.get(), peakQueue.get(), exec.rejectedTasks()));
+  }
+  public static void main(String[] args) throws Exception {
+    int n = Runtime.getRuntime().availableProcessors();
+    print(String.format("%-24s %6s %8s %8s %9s", "mode", "ms",
+      "threads", "queued", "rejected"));
+    burst("unbounded", new DaemonThreadPoolExecutor());
+    burst("bounded, caller runs", new DaemonThreadPoolExecutor(
+      4 * n, 100, DaemonThreadPoolExecutor.Backpressure.CALLER_RUNS));
+    burst("bounded, blocking", new DaemonThreadPoolExecutor(
+      4 * n, 100, DaemonThreadPoolExecutor.Backpressure.BLOCK));
+    burst("work-stealing",
+      DaemonThreadPoolExecutor.workStealing(4 * n));
+    burst("thread per task", DaemonThreadPoolExecutor.perTask());
+    // A bounded pool that refuses what it can't queue:
+    MonitoredExecutor strict = new DaemonThreadPoolExecutor(
+      1, 1, DaemonThreadPoolExecutor.Backpressure.REJECT);
+    Runnable nap = new Runnable() {
+      public void run() {
+        try {
+          TimeUnit.MILLISECONDS.sleep(100);
+        } catch(InterruptedException e) {}
+      }
+    };
+    for(int i = 0; i < 3; i++)
+      try {
+        strict.execute(nap);
+      } catch(RejectedExecutionException e) {
+        print("Rejected: " + e.getMessage());
+      }
+    print("strict.rejectedTasks() = " + strict.rejectedTasks());
+    strict.shutdownNow();
+  }
+} /* Output: (Sample)
+mode                         ms  threads   queued  rejected
+unbounded                   113      182        0         0
+bounded, caller runs       2071        4      100       379
+bounded, blocking          2561        4      100      1832
+work-stealing              2558        4     1992         0
+thread per task             236       77        0         0
+Rejected: Task queue is full
+strict.rejectedTasks() = 1
+*///:~
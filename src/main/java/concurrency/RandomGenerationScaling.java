@@ -0,0 +1,73 @@
+//: concurrency/RandomGenerationScaling.java
+package concurrency;
+// Generation throughput as threads are added: one shared
+// Random versus a SplitRandom stream per thread.
+import java.util.*;
+import java.util.concurrent.*;
+import net.mindview.util.*;
+
+public class RandomGenerationScaling {
+  static int perThread = 2000000;
+  static ExecutorService exec = Executors.newCachedThreadPool();
+  interface SourceFactory { Random source(int thread); }
+  static long test(int nThreads, final SourceFactory f)
+  throws Exception {
+    List<Future<Long>> results = new ArrayList<Future<Long>>();
+    final CountDownLatch start = new CountDownLatch(1);
+    for(int i = 0; i < nThreads; i++) {
+      final int index = i;
+      results.add(exec.submit(new Callable<Long>() {
+        public Long call() throws Exception {
+          RandomGenerator.Integer gen =
+            new RandomGenerator.Integer(10000, f.source(index));
+          int[] data = new int[perThread];
+          start.await();
+          Generated.intArray(data, gen);
+          long sum = 0; // Keep the work from being optimized away
+          for(int d : data)
+            sum += d;
+          return sum;
+        }
+      }));
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    for(Future<Long> result : results)
+      result.get();
+    return System.nanoTime() - begin;
+  }
+  public static void main(String[] args) throws Exception {
+    if(args.length > 0)
+      perThread = new Integer(args[0]);
+    int maxThreads = Runtime.getRuntime().availableProcessors();
+    if(args.length > 1)
+      maxThreads = new Integer(args[1]);
+    final Random shared = new Random(47);
+    final SplitRandom root = new SplitRandom(47);
+    SourceFactory sharedSource = new SourceFactory() {
+      public Random source(int thread) { return shared; }
+    };
+    SourceFactory splitSource = new SourceFactory() {
+      public Random source(int thread) {
+        return root.stream(thread);
+      }
+    };
+    System.out.printf("%8s %16s %16s\n",
+      "threads", "shared (M/sec)", "split (M/sec)");
+    for(int n = 1; n <= maxThreads; n *= 2) {
+      test(n, sharedSource); // Warm up
+      test(n, splitSource);
+      double total = (double)n * perThread * 1000;
+      System.out.printf("%8d %16.1f %16.1f\n", n,
+        total / test(n, sharedSource),
+        total / test(n, splitSource));
+    }
+    exec.shutdown();
+  }
+} /* Output: (Sample)
+ threads   shared (M/sec)    split (M/sec)
+       1             40.7             96.8
+       2             42.3             97.1
+       4             55.7            125.3
+       8             53.3            140.3
+*///:~
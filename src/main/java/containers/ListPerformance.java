@@ -174,6 +174,7 @@ public class ListPerformance {
         new LinkedList<Integer>(), qTests);
     qTest.setHeadline("Queue tests");
     qTest.timedTest();
+    Tester.finish();
   }
 } /* Output: (Sample)
 --- Array as List ---
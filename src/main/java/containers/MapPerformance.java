@@ -2,7 +2,10 @@
 package containers; /* Added by Eclipse.py */
 // Demonstrates performance differences in Maps.
 // {Args: 100 5000} Small to keep build testing short
+// To see what boxing costs from 10 up to 10M entries:
+// 10 5000 1000 50 100000 1 10000000 1
 import java.util.*;
+import net.mindview.util.*;
 
 public class MapPerformance {
   static List<Test<Map<Integer,Integer>>> tests =
@@ -42,16 +45,60 @@ public class MapPerformance {
       }
     });
   }
+  static long keySum; // So the visits can't be optimized away
+  // The same tests without boxing:
+  static List<Test<IntIntHashMap>> intTests =
+    new ArrayList<Test<IntIntHashMap>>();
+  static {
+    intTests.add(new Test<IntIntHashMap>("put") {
+      int test(IntIntHashMap map, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          map.clear();
+          for(int j = 0; j < size; j++)
+            map.put(j, j);
+        }
+        return loops * size;
+      }
+    });
+    intTests.add(new Test<IntIntHashMap>("get") {
+      int test(IntIntHashMap map, TestParam tp) {
+        int loops = tp.loops;
+        int span = tp.size * 2;
+        for(int i = 0; i < loops; i++)
+          for(int j = 0; j < span; j++)
+            map.get(j);
+        return loops * span;
+      }
+    });
+    intTests.add(new Test<IntIntHashMap>("iterate") {
+      int test(IntIntHashMap map, TestParam tp) {
+        int loops = tp.loops * 10;
+        IntIntConsumer visit = new IntIntConsumer() {
+          public void accept(int key, int value) {
+            keySum += key;
+          }
+        };
+        for(int i = 0; i < loops; i ++)
+          map.forEach(visit);
+        return loops * map.size();
+      }
+    });
+  }
   public static void main(String[] args) {
     if(args.length > 0)
       Tester.defaultParams = TestParam.array(args);
     Tester.run(new TreeMap<Integer,Integer>(), tests);
     Tester.run(new HashMap<Integer,Integer>(), tests);
+    Tester.run(new OpenHashMap<Integer,Integer>(), tests);
+    Tester.run(new IntIntHashMap(), intTests);
     Tester.run(new LinkedHashMap<Integer,Integer>(),tests);
     Tester.run(
       new IdentityHashMap<Integer,Integer>(), tests);
     Tester.run(new WeakHashMap<Integer,Integer>(), tests);
     Tester.run(new Hashtable<Integer,Integer>(), tests);
+    Tester.finish();
   }
 } /* Output: (Sample)
 ---------- TreeMap ----------
@@ -66,6 +113,18 @@ public class MapPerformance {
   100     179      70      73
  1000     267     102      72
 10000    1305     265      97
+-------- OpenHashMap --------
+ size     put     get iterate
+   10     431     166      94
+  100      61      17      16
+ 1000      17      11      11
+10000      19      15      22
+------- IntIntHashMap -------
+ size     put     get iterate
+   10     113      75      27
+  100      27      20       2
+ 1000       4       2       1
+10000       4       4       6
 ------- LinkedHashMap -------
  size     put     get iterate
    10     354     100      72
@@ -0,0 +1,300 @@
+//: containers/OpenHashMap.java
+package containers;
+// SimpleHashMap grown up: keys and values live in
+// parallel arrays, found by linear probing, and the
+// table doubles as it fills.
+import java.util.*;
+import net.mindview.util.*;
+
+public class OpenHashMap<K,V> extends AbstractMap<K,V> {
+  static final int MIN_CAPACITY = 8, MAX_CAPACITY = 1 << 30;
+  // Stands in for a null key, so a null slot means empty:
+  private static final Object NULL_KEY = new Object();
+  // Marks a removed key. Probing continues past it:
+  private static final Object DELETED = new Object();
+  private final float loadFactor;
+  private Object[] keys, values;
+  private int mask, threshold;
+  private int size;
+  private int used; // size plus DELETED slots
+  private int modCount; // For fail-fast iterators
+  private Set<Map.Entry<K,V>> entrySet;
+  public OpenHashMap() { this(MIN_CAPACITY); }
+  public OpenHashMap(int expectedSize) {
+    this(expectedSize, 0.5f);
+  }
+  public OpenHashMap(int expectedSize, float loadFactor) {
+    if(expectedSize < 0)
+      throw new IllegalArgumentException(
+        "Expected size: " + expectedSize);
+    if(!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException(
+        "Load factor: " + loadFactor);
+    this.loadFactor = loadFactor;
+    allocate(capacityFor(expectedSize));
+  }
+  // The power of two that holds expectedSize entries
+  // without passing the load factor:
+  private int capacityFor(int expectedSize) {
+    long needed =
+      (long)Math.ceil(expectedSize / loadFactor) + 1;
+    if(needed > MAX_CAPACITY)
+      throw new IllegalStateException(
+        expectedSize + " entries is too many");
+    return Math.max(MIN_CAPACITY,
+      Integer.highestOneBit((int)needed - 1) << 1);
+  }
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    threshold = Math.min(capacity - 1,
+      (int)(capacity * loadFactor));
+    used = 0;
+  }
+  // Mixes the high bits of hashCode() into the low bits
+  // that choose the slot, so keys such as Integers that
+  // differ only in their high bits don't all collide:
+  private static int spread(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+  private static Object mask(Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+  @SuppressWarnings("unchecked")
+  private static <K> K unmask(Object key) {
+    return key == NULL_KEY ? null : (K)key;
+  }
+  // The slot holding key, or -1:
+  private int indexOf(Object key) {
+    Object k = mask(key);
+    int i = spread(k) & mask;
+    for(Object slot; (slot = keys[i]) != null; i = (i+1) & mask)
+      if(slot == k || (slot != DELETED && k.equals(slot)))
+        return i;
+    return -1;
+  }
+  public int size() { return size; }
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+  public boolean containsValue(Object value) {
+    for(int i = 0; i < keys.length; i++)
+      if(keys[i] != null && keys[i] != DELETED &&
+         (value == null ? values[i] == null :
+          value.equals(values[i])))
+        return true;
+    return false;
+  }
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : (V)values[i];
+  }
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    Object k = mask(key);
+    int i = spread(k) & mask, free = -1;
+    for(Object slot; (slot = keys[i]) != null; i = (i+1) & mask)
+      if(slot == DELETED) {
+        if(free < 0)
+          free = i; // Reuse the first one passed
+      } else if(slot == k || k.equals(slot)) {
+        // Replace in place; no new entry object:
+        V oldValue = (V)values[i];
+        values[i] = value;
+        return oldValue;
+      }
+    if(free >= 0)
+      i = free;
+    else
+      used++;
+    keys[i] = k;
+    values[i] = value;
+    size++;
+    modCount++;
+    if(used > threshold)
+      rehash();
+    return null;
+  }
+  // Doubles the table if it's mostly live entries,
+  // otherwise rebuilds it at the same size to clear out
+  // the DELETED markers:
+  private void rehash() {
+    int capacity = keys.length;
+    if(size >= threshold / 2) {
+      if(capacity == MAX_CAPACITY)
+        throw new IllegalStateException("Map is full");
+      capacity <<= 1;
+    }
+    Object[] oldKeys = keys, oldValues = values;
+    allocate(capacity);
+    for(int j = 0; j < oldKeys.length; j++) {
+      Object k = oldKeys[j];
+      if(k == null || k == DELETED)
+        continue;
+      int i = spread(k) & mask;
+      while(keys[i] != null)
+        i = (i + 1) & mask;
+      keys[i] = k;
+      values[i] = oldValues[j];
+      used++;
+    }
+  }
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    int i = indexOf(key);
+    if(i < 0)
+      return null;
+    V oldValue = (V)values[i];
+    removeAt(i);
+    return oldValue;
+  }
+  private void removeAt(int i) {
+    keys[i] = DELETED;
+    values[i] = null;
+    size--;
+    modCount++;
+    // The marker stays until rehash() clears it out
+  }
+  public void clear() {
+    if(used == 0)
+      return;
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    used = 0;
+    size = 0;
+    modCount++;
+  }
+  // A live view: no entries are copied, and changes to
+  // the map show through it and vice versa:
+  public Set<Map.Entry<K,V>> entrySet() {
+    if(entrySet == null)
+      entrySet = new EntrySet();
+    return entrySet;
+  }
+  private class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+    public int size() { return size; }
+    public void clear() { OpenHashMap.this.clear(); }
+    public Iterator<Map.Entry<K,V>> iterator() {
+      return new EntryIterator();
+    }
+    public boolean contains(Object o) {
+      if(!(o instanceof Map.Entry))
+        return false;
+      Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+      int i = indexOf(e.getKey());
+      return i >= 0 && (e.getValue() == null ?
+        values[i] == null : e.getValue().equals(values[i]));
+    }
+    public boolean remove(Object o) {
+      if(!contains(o))
+        return false;
+      OpenHashMap.this.remove(((Map.Entry<?,?>)o).getKey());
+      return true;
+    }
+  }
+  private class EntryIterator
+  implements Iterator<Map.Entry<K,V>> {
+    private int next = -1, last = -1;
+    private int expectedModCount = modCount;
+    EntryIterator() { advance(); }
+    private void advance() {
+      do
+        next++;
+      while(next < keys.length &&
+        (keys[next] == null || keys[next] == DELETED));
+    }
+    public boolean hasNext() { return next < keys.length; }
+    public Map.Entry<K,V> next() {
+      if(modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+      if(!hasNext())
+        throw new NoSuchElementException();
+      last = next;
+      advance();
+      return new Slot(last, keys[last]);
+    }
+    // Leaves a DELETED marker, so nothing moves and no
+    // entry is skipped or seen twice:
+    public void remove() {
+      if(last < 0)
+        throw new IllegalStateException();
+      if(modCount != expectedModCount)
+        throw new ConcurrentModificationException();
+      removeAt(last);
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+  // Keeps its key, and reads and writes its value in
+  // place while the key is still in that slot:
+  private class Slot implements Map.Entry<K,V> {
+    private final int index;
+    private final Object key; // As stored, masked
+    Slot(int index, Object key) {
+      this.index = index;
+      this.key = key;
+    }
+    public K getKey() { return unmask(key); }
+    // The entry was removed, or moved by a rehash:
+    private void check() {
+      if(keys[index] != key)
+        throw new IllegalStateException(
+          "Entry is no longer in the map: " + getKey());
+    }
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+      check();
+      return (V)values[index];
+    }
+    public V setValue(V value) {
+      V oldValue = getValue();
+      values[index] = value;
+      return oldValue;
+    }
+    public int hashCode() {
+      K key = getKey();
+      V value = getValue();
+      return (key == null ? 0 : key.hashCode()) ^
+        (value == null ? 0 : value.hashCode());
+    }
+    public boolean equals(Object o) {
+      if(!(o instanceof Map.Entry)) return false;
+      Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+      K key = getKey();
+      V value = getValue();
+      return
+        (key == null ?
+         e.getKey() == null : key.equals(e.getKey())) &&
+        (value == null ?
+         e.getValue() == null : value.equals(e.getValue()));
+    }
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+  public static void main(String[] args) {
+    OpenHashMap<String,String> m =
+      new OpenHashMap<String,String>();
+    m.putAll(Countries.capitals(25));
+    System.out.println(m);
+    System.out.println(m.get("ERITREA"));
+    // Writes through to the map:
+    for(Map.Entry<String,String> e : m.entrySet())
+      if(e.getKey().startsWith("B"))
+        e.setValue(e.getValue().toUpperCase());
+    Iterator<String> it = m.keySet().iterator();
+    while(it.hasNext())
+      if(it.next().startsWith("C"))
+        it.remove();
+    System.out.println(m.entrySet());
+    System.out.println(m.size());
+  }
+} /* Output:
+{BURKINA FASO=Ouagadougou, COTE D'IVOIR (IVORY COAST)=Yamoussoukro, LESOTHO=Maseru, ALGERIA=Algiers, CONGO=Brazzaville, CHAD=N'djamena, GABON=Libreville, EQUATORIAL GUINEA=Malabo, DJIBOUTI=Dijibouti, GHANA=Accra, BISSAU=Bissau, BURUNDI=Bujumbura, CENTRAL AFRICAN REPUBLIC=Bangui, COMOROS=Moroni, KENYA=Nairobi, ETHIOPIA=Addis Ababa, THE GAMBIA=Banjul, ANGOLA=Luanda, BENIN=Porto-Novo, CAMEROON=Yaounde, EGYPT=Cairo, BOTSWANA=Gaberone, ERITREA=Asmara, CAPE VERDE=Praia, GUINEA=Conakry}
+Asmara
+[BURKINA FASO=OUAGADOUGOU, LESOTHO=Maseru, ALGERIA=Algiers, GABON=Libreville, EQUATORIAL GUINEA=Malabo, DJIBOUTI=Dijibouti, GHANA=Accra, BISSAU=BISSAU, BURUNDI=BUJUMBURA, KENYA=Nairobi, ETHIOPIA=Addis Ababa, THE GAMBIA=Banjul, ANGOLA=Luanda, BENIN=PORTO-NOVO, EGYPT=Cairo, BOTSWANA=GABERONE, ERITREA=Asmara, GUINEA=Conakry]
+18
+*///:~
@@ -49,6 +49,7 @@ public class SetPerformance {
     Tester.run(new TreeSet<Integer>(), tests);
     Tester.run(new HashSet<Integer>(), tests);
     Tester.run(new LinkedHashSet<Integer>(), tests);
+    Tester.finish();
   }
 } /* Output: (Sample)
 ------------- TreeSet -------------
@@ -0,0 +1,239 @@
+//: containers/StackDequePerformance.java
+package containers;
+// The array-based Stack and Deque in net.mindview.util,
+// and their primitive versions, against the LinkedList
+// they used to be built on.
+// {Args: 100 500} Small to keep build testing short
+import java.util.*;
+import net.mindview.util.*;
+
+public class StackDequePerformance {
+  // The operations under test, for each implementation:
+  static abstract class StackOps {
+    abstract void push(int i);
+    abstract int pop();
+    abstract int size();
+    abstract void clear();
+  }
+  static abstract class DequeOps {
+    abstract void addFirst(int i);
+    abstract void addLast(int i);
+    abstract int removeFirst();
+    abstract int removeLast();
+    abstract int size();
+    abstract void clear();
+  }
+  static List<Test<StackOps>> stackTests =
+    new ArrayList<Test<StackOps>>();
+  static List<Test<DequeOps>> dequeTests =
+    new ArrayList<Test<DequeOps>>();
+  static {
+    stackTests.add(new Test<StackOps>("push") {
+      int test(StackOps stack, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          stack.clear();
+          for(int j = 0; j < size; j++)
+            stack.push(j);
+        }
+        return loops * size;
+      }
+    });
+    stackTests.add(new Test<StackOps>("pushpop") {
+      int test(StackOps stack, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          for(int j = 0; j < size; j++)
+            stack.push(j);
+          while(stack.size() > 0)
+            stack.pop();
+        }
+        return loops * size;
+      }
+    });
+    dequeTests.add(new Test<DequeOps>("addFirst") {
+      int test(DequeOps deque, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          deque.clear();
+          for(int j = 0; j < size; j++)
+            deque.addFirst(47);
+        }
+        return loops * size;
+      }
+    });
+    dequeTests.add(new Test<DequeOps>("addLast") {
+      int test(DequeOps deque, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          deque.clear();
+          for(int j = 0; j < size; j++)
+            deque.addLast(47);
+        }
+        return loops * size;
+      }
+    });
+    dequeTests.add(new Test<DequeOps>("rmFirst") {
+      int test(DequeOps deque, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          for(int j = 0; j < size; j++)
+            deque.addLast(j);
+          while(deque.size() > 0)
+            deque.removeFirst();
+        }
+        return loops * size;
+      }
+    });
+    dequeTests.add(new Test<DequeOps>("rmLast") {
+      int test(DequeOps deque, TestParam tp) {
+        int loops = tp.loops;
+        int size = tp.size;
+        for(int i = 0; i < loops; i++) {
+          for(int j = 0; j < size; j++)
+            deque.addFirst(j);
+          while(deque.size() > 0)
+            deque.removeLast();
+        }
+        return loops * size;
+      }
+    });
+    // Steady-state queue use, wrapping around the array:
+    dequeTests.add(new Test<DequeOps>("queue") {
+      int test(DequeOps deque, TestParam tp) {
+        int loops = tp.loops * tp.size;
+        deque.clear();
+        for(int j = 0; j < tp.size; j++)
+          deque.addLast(j);
+        for(int i = 0; i < loops; i++)
+          deque.addLast(deque.removeFirst());
+        return loops;
+      }
+    });
+  }
+  // A LinkedList stack pushes and pops at the front:
+  static StackOps linkedListStack() {
+    return new StackOps() {
+      LinkedList<Integer> list = new LinkedList<Integer>();
+      void push(int i) { list.addFirst(i); }
+      int pop() { return list.removeFirst(); }
+      int size() { return list.size(); }
+      void clear() { list.clear(); }
+    };
+  }
+  static StackOps stack() {
+    return new StackOps() {
+      net.mindview.util.Stack<Integer> stack =
+        new net.mindview.util.Stack<Integer>();
+      void push(int i) { stack.push(i); }
+      int pop() { return stack.pop(); }
+      int size() { return stack.size(); }
+      void clear() { stack.clear(); }
+    };
+  }
+  static StackOps intStack() {
+    return new StackOps() {
+      IntStack stack = new IntStack();
+      void push(int i) { stack.push(i); }
+      int pop() { return stack.pop(); }
+      int size() { return stack.size(); }
+      void clear() { stack.clear(); }
+    };
+  }
+  static DequeOps linkedListDeque() {
+    return new DequeOps() {
+      LinkedList<Integer> list = new LinkedList<Integer>();
+      void addFirst(int i) { list.addFirst(i); }
+      void addLast(int i) { list.addLast(i); }
+      int removeFirst() { return list.removeFirst(); }
+      int removeLast() { return list.removeLast(); }
+      int size() { return list.size(); }
+      void clear() { list.clear(); }
+    };
+  }
+  static DequeOps deque() {
+    return new DequeOps() {
+      net.mindview.util.Deque<Integer> deque =
+        new net.mindview.util.Deque<Integer>();
+      void addFirst(int i) { deque.addFirst(i); }
+      void addLast(int i) { deque.addLast(i); }
+      int removeFirst() { return deque.removeFirst(); }
+      int removeLast() { return deque.removeLast(); }
+      int size() { return deque.size(); }
+      void clear() { deque.clear(); }
+    };
+  }
+  static DequeOps longDeque() {
+    return new DequeOps() {
+      LongDeque deque = new LongDeque();
+      void addFirst(int i) { deque.addFirst(i); }
+      void addLast(int i) { deque.addLast(i); }
+      int removeFirst() { return (int)deque.removeFirst(); }
+      int removeLast() { return (int)deque.removeLast(); }
+      int size() { return deque.size(); }
+      void clear() { deque.clear(); }
+    };
+  }
+  static <C> void
+  run(String headline, C ops, List<Test<C>> tests) {
+    Tester<C> tester = new Tester<C>(ops, tests);
+    tester.setHeadline(headline);
+    tester.timedTest();
+  }
+  public static void main(String[] args) {
+    Tester.defaultParams = TestParam.array(
+      10, 500000, 100, 50000, 1000, 5000, 10000, 500);
+    if(args.length > 0)
+      Tester.defaultParams = TestParam.array(args);
+    Tester.fieldWidth = 10;
+    run("LinkedList as Stack", linkedListStack(), stackTests);
+    run("Stack", stack(), stackTests);
+    run("IntStack", intStack(), stackTests);
+    run("LinkedList as Deque", linkedListDeque(), dequeTests);
+    run("Deque", deque(), dequeTests);
+    run("LongDeque", longDeque(), dequeTests);
+    Tester.finish();
+  }
+} /* Output: (Sample)
+-- LinkedList as Stack --
+ size      push   pushpop
+   10        18        15
+  100        14        15
+ 1000        16        18
+10000        15        15
+--------- Stack ---------
+ size      push   pushpop
+   10        16        18
+  100         5         9
+ 1000         7         8
+10000        17         7
+-------- IntStack --------
+ size      push   pushpop
+   10         6        14
+  100         5        11
+ 1000         4         7
+10000         4         8
+----------------- LinkedList as Deque -----------------
+ size  addFirst   addLast   rmFirst    rmLast     queue
+   10        11        14        17        17        12
+  100        12        12        12        11        11
+ 1000         9         9        28        19        12
+10000        10        10        15        20        16
+------------------------ Deque ------------------------
+ size  addFirst   addLast   rmFirst    rmLast     queue
+   10        21        18        33        22         8
+  100         5         1         7        14         9
+ 1000         6         1        11        12         8
+10000         4         1        10         7        15
+---------------------- LongDeque ----------------------
+ size  addFirst   addLast   rmFirst    rmLast     queue
+   10         5         5        13        13        15
+  100        10         8        15        13         8
+ 1000         6         5        12        13        11
+10000         6         6        11         8         9
+*///:~
@@ -1,12 +1,31 @@
 //: containers/Tester.java
 package containers; /* Added by Eclipse.py */
 // Applies Test objects to lists of different containers.
+// Set these system properties to measure more carefully,
+// export the results and compare them with a baseline:
+//   -Dtester.warmups=N     Untimed runs of each test
+//   -Dtester.iterations=N  Timed runs; the median is shown
+//   -Dtester.csv=FILE      Write every cell as CSV
+//   -Dtester.json=FILE     Write every cell as JSON
+//   -Dtester.baseline=FILE A CSV from an earlier run
+//   -Dtester.threshold=F   Allowed slowdown, default 0.1
+//   -Dtester.sigmas=K      Baseline stddevs allowed, default 3
+//   -Dtester.mindelta=NS   Smallest slowdown that counts,
+//                          in ns per repetition, default 10
+// A cell only counts as a regression if it is slower than
+// the baseline by all four measures, so compare runs of
+// 5 or more iterations; see regressions().
 import java.util.*;
+import net.mindview.util.*;
 
 public class Tester<C> {
   public static int fieldWidth = 8;
   public static TestParam[] defaultParams= TestParam.array(
     10, 5000, 100, 5000, 1000, 5000, 10000, 500);
+  public static int warmups =
+    Integer.getInteger("tester.warmups", 0);
+  public static int iterations =
+    Math.max(1, Integer.getInteger("tester.iterations", 1));
   // Override this to modify pre-test initialization:
   protected C initialize(int size) { return container; }
   protected C container;
@@ -65,18 +84,224 @@ public class Tester<C> {
   // Run the tests for this container:
   public void timedTest() {
     displayHeader();
+    List<Cell> measured = new ArrayList<Cell>();
     for(TestParam param : paramList) {
       System.out.format(sizeField, param.size);
       for(Test<C> test : tests) {
-        C kontainer = initialize(param.size);
-        long start = System.nanoTime();
-        // Call the overriden method:
-        int reps = test.test(kontainer, param);
-        long duration = System.nanoTime() - start;
-        long timePerRep = duration / reps; // Nanoseconds
-        System.out.format(numberField(), timePerRep);
+        for(int i = 0; i < warmups; i++)
+          test.test(initialize(param.size), param);
+        double[] samples = new double[iterations];
+        for(int i = 0; i < iterations; i++) {
+          C kontainer = initialize(param.size);
+          long start = System.nanoTime();
+          // Call the overriden method:
+          int reps = test.test(kontainer, param);
+          long duration = System.nanoTime() - start;
+          // Nanoseconds, without truncation:
+          samples[i] = (double)duration / reps;
+        }
+        Cell cell = new Cell(headline, test.name, param.size,
+          samples);
+        measured.add(cell);
+        System.out.format(numberField(),
+          Math.round(cell.median()));
       }
       System.out.println();
     }
+    if(iterations > 1)
+      for(Cell cell : measured)
+        System.out.println(cell);
+    results.addAll(measured);
+  }
+  // The samples for one test at one size, in
+  // nanoseconds per repetition:
+  public static class Cell {
+    public final String container, test;
+    public final int size;
+    private final double[] samples; // Sorted
+    Cell(String container, String test, int size,
+        double[] samples) {
+      this.container = container;
+      this.test = test;
+      this.size = size;
+      this.samples = samples.clone();
+      Arrays.sort(this.samples);
+    }
+    public int samples() { return samples.length; }
+    public double median() { return percentile(50); }
+    // Nearest rank:
+    public double percentile(double p) {
+      int rank = (int)Math.ceil(p / 100 * samples.length);
+      return samples[Math.max(0, rank - 1)];
+    }
+    public double mean() {
+      double sum = 0;
+      for(double s : samples)
+        sum += s;
+      return sum / samples.length;
+    }
+    public double stddev() {
+      if(samples.length < 2)
+        return 0;
+      double mean = mean(), sum = 0;
+      for(double s : samples)
+        sum += (s - mean) * (s - mean);
+      return Math.sqrt(sum / (samples.length - 1));
+    }
+    // The first three CSV fields, which identify the cell:
+    String key() {
+      return csvField(container) + "," + csvField(test) +
+        "," + size;
+    }
+    public String toString() {
+      return String.format(
+        "%s %s %d: median %.1f, p90 %.1f, p99 %.1f, sd %.1f",
+        container, test, size, median(), percentile(90),
+        percentile(99), stddev());
+    }
+  }
+  // Every cell measured so far in this run:
+  private static List<Cell> results = new ArrayList<Cell>();
+  public static List<Cell> results() {
+    return Collections.unmodifiableList(results);
+  }
+  public static void writeCsv(String fileName) {
+    StringBuilder csv = new StringBuilder("container,test," +
+      "size,samples,median,p90,p99,mean,stddev\n");
+    for(Cell c : results)
+      csv.append(String.format(Locale.ROOT,
+        "%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f\n", c.key(),
+        c.samples(), c.median(), c.percentile(90),
+        c.percentile(99), c.mean(), c.stddev()));
+    TextFile.write(fileName, csv.toString());
+  }
+  public static void writeJson(String fileName) {
+    StringBuilder json = new StringBuilder("[\n");
+    for(Iterator<Cell> it = results.iterator(); it.hasNext();) {
+      Cell c = it.next();
+      json.append(String.format(Locale.ROOT,
+        "  {\"container\": \"%s\", \"test\": \"%s\", " +
+        "\"size\": %d, \"samples\": %d, \"median\": %.1f, " +
+        "\"p90\": %.1f, \"p99\": %.1f, \"mean\": %.1f, " +
+        "\"stddev\": %.1f}%s\n", quoted(c.container),
+        quoted(c.test), c.size, c.samples(), c.median(),
+        c.percentile(90), c.percentile(99), c.mean(),
+        c.stddev(), it.hasNext() ? "," : ""));
+    }
+    TextFile.write(fileName, json.append("]\n").toString());
+  }
+  // Quoted as RFC 4180 has it, if it holds a comma or a
+  // quote. The baseline is read a line at a time, so a
+  // line break can't be written at all:
+  static String csvField(String s) {
+    if(s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0)
+      throw new IllegalArgumentException(
+        "Line break in CSV field: " + s);
+    if(s.indexOf(',') < 0 && s.indexOf('"') < 0)
+      return s;
+    return "\"" + s.replace("\"", "\"\"") + "\"";
+  }
+  static List<String> csvFields(String line) {
+    List<String> fields = new ArrayList<String>();
+    StringBuilder field = new StringBuilder();
+    boolean inQuotes = false;
+    for(int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if(inQuotes) {
+        if(c != '"')
+          field.append(c);
+        else if(line.startsWith("\"", i + 1))
+          field.append(line.charAt(++i)); // Doubled quote
+        else
+          inQuotes = false;
+      } else if(c == '"')
+        inQuotes = true;
+      else if(c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else
+        field.append(c);
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+  private static String quoted(String s) {
+    return s.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+  // A baseline cell, as read back from the CSV:
+  private static class Baseline {
+    final int samples;
+    final double median, p90, stddev;
+    Baseline(List<String> f) {
+      samples = Integer.parseInt(f.get(3));
+      median = Double.parseDouble(f.get(4));
+      p90 = Double.parseDouble(f.get(5));
+      stddev = Double.parseDouble(f.get(8));
+    }
+  }
+  // Timings of unchanged code wander from run to run, by
+  // far more than 10% for the small, fast cells. So a
+  // cell counts as a regression only if its median is
+  // outside the baseline's own spread -- above both its
+  // p90 and its median plus sigmas standard deviations --
+  // and is also more than threshold (0.1 is 10%) and more
+  // than minDelta nanoseconds slower than the baseline
+  // median. Baseline cells with fewer than 3 samples have
+  // no spread to judge by, and cells missing from either
+  // run are skipped:
+  public static List<String> regressions(String baselineCsv,
+      double threshold, double sigmas, double minDelta) {
+    Map<String,Baseline> baseline =
+      new HashMap<String,Baseline>();
+    for(String line : new TextFile(baselineCsv)) {
+      List<String> f = csvFields(line);
+      if(f.size() < 9 || line.startsWith("container,"))
+        continue; // Header or blank
+      baseline.put(csvField(f.get(0)) + "," +
+        csvField(f.get(1)) + "," + f.get(2), new Baseline(f));
+    }
+    List<String> result = new ArrayList<String>();
+    for(Cell c : results) {
+      Baseline b = baseline.get(c.key());
+      if(b == null || b.samples < 3)
+        continue;
+      double median = c.median();
+      if(median > b.p90 &&
+         median > b.median + sigmas * b.stddev &&
+         median > b.median * (1 + threshold) &&
+         median - b.median > minDelta)
+        result.add(String.format(Locale.ROOT,
+          "%s %s %d: median %.1f ns, baseline %.1f ns " +
+          "(p90 %.1f, sd %.1f, +%.0f%%)",
+          c.container, c.test, c.size, median, b.median,
+          b.p90, b.stddev,
+          100 * (median - b.median) / Math.max(b.median, 1)));
+    }
+    return result;
+  }
+  // Exports and checks what the system properties ask
+  // for. With a baseline, exits with status 1 if any cell
+  // regressed, so a scheduled job can fail on it:
+  public static void finish() {
+    String csv = System.getProperty("tester.csv");
+    if(csv != null)
+      writeCsv(csv);
+    String json = System.getProperty("tester.json");
+    if(json != null)
+      writeJson(json);
+    String baseline = System.getProperty("tester.baseline");
+    if(baseline == null)
+      return;
+    List<String> slower = regressions(baseline,
+      Double.parseDouble(
+        System.getProperty("tester.threshold", "0.1")),
+      Double.parseDouble(
+        System.getProperty("tester.sigmas", "3")),
+      Double.parseDouble(
+        System.getProperty("tester.mindelta", "10")));
+    for(String s : slower)
+      System.out.println("REGRESSION " + s);
+    if(!slower.isEmpty())
+      System.exit(1);
   }
 } ///:~
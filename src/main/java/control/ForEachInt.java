@@ -14,9 +14,17 @@ public class ForEachInt {
     for(int i : range(5, 20, 3)) // 5..20 step 3
       printnb(i + " ");
     print();
+    // The same, without allocating an array:
+    for(int i : ints(5, 20, 3))
+      printnb(i + " ");
+    print();
+    // A million values, summed in parallel and unboxed:
+    print(ints(1000000).parallelStream().asLongStream().sum());
   }
 } /* Output:
 0 1 2 3 4 5 6 7 8 9
 5 6 7 8 9
 5 8 11 14 17
+5 8 11 14 17
+499999500000
 *///:~
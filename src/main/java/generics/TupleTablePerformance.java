@@ -0,0 +1,81 @@
+//: generics/TupleTablePerformance.java
+package generics;
+// Scanning a million (int, int, String, double) records
+// held as a TupleList of FourTuples, versus a
+// column-oriented TupleTable.
+// {Args: 100000}
+import java.util.*;
+import net.mindview.util.*;
+
+public class TupleTablePerformance {
+  static double sink; // Keeps the scans from being optimized away
+  static abstract class Timed {
+    abstract double run();
+    long millis() {
+      for(int i = 0; i < 5; i++)
+        sink += run(); // Warm up
+      long start = System.nanoTime();
+      for(int i = 0; i < 10; i++)
+        sink += run();
+      return (System.nanoTime() - start) / 10 / 1000000;
+    }
+  }
+  public static void main(String[] args) {
+    int size = args.length > 0 ?
+      Integer.parseInt(args[0]) : 1000000;
+    Random rand = new Random(47);
+    String[] names = { "alpha", "beta", "gamma", "delta" };
+    final TupleList<Integer,Integer,String,Double> list =
+      new TupleList<Integer,Integer,String,Double>();
+    final TupleTable table = new TupleTable(
+      int.class, int.class, String.class, double.class);
+    for(int i = 0; i < size; i++) {
+      FourTuple<Integer,Integer,String,Double> t =
+        Tuple.tuple(i, rand.nextInt(100),
+          names[rand.nextInt(names.length)], rand.nextDouble());
+      list.add(t);
+      table.add(t);
+    }
+    // Sum the doubles of rows whose second slot is small:
+    long listTime = new Timed() { double run() {
+      double total = 0;
+      for(FourTuple<Integer,Integer,String,Double> t : list)
+        if(t.second < 10)
+          total += t.fourth;
+      return total;
+    }}.millis();
+    long tableTime = new Timed() { double run() {
+      double total = 0;
+      TupleTable.Cursor c = table.cursor();
+      while(c.next())
+        if(c.getInt(1) < 10)
+          total += c.getDouble(3);
+      return total;
+    }}.millis();
+    // A packed pair per record still beats a boxed tuple:
+    final IntDoubleTuple[] pairs = new IntDoubleTuple[size];
+    for(int i = 0; i < size; i++)
+      pairs[i] = new IntDoubleTuple(
+        table.getInt(i, 1), table.getDouble(i, 3));
+    long pairTime = new Timed() { double run() {
+      double total = 0;
+      for(IntDoubleTuple p : pairs)
+        if(p.first < 10)
+          total += p.second;
+      return total;
+    }}.millis();
+    System.out.println("Scan of " + size + " records (ms):");
+    System.out.println("TupleList:        " + listTime);
+    System.out.println("IntDoubleTuple[]: " + pairTime);
+    System.out.println("TupleTable:       " + tableTime);
+    System.out.println("Same rows: " +
+      list.get(size / 2).toString().equals(
+        table.tuple(size / 2).toString()));
+  }
+} /* Output: (Sample)
+Scan of 1000000 records (ms):
+TupleList:        10
+IntDoubleTuple[]: 2
+TupleTable:       1
+Same rows: true
+*///:~
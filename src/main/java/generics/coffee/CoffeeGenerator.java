@@ -2,25 +2,37 @@
 // Generate different types of Coffee:
 package generics.coffee;
 import java.util.*;
+import java.util.function.*;
 import net.mindview.util.*;
 
 public class CoffeeGenerator
 implements Generator<Coffee>, Iterable<Coffee> {
-  private Class[] types = { Latte.class, Mocha.class,
-    Cappuccino.class, Americano.class, Breve.class, };
+  private List<Class<? extends Coffee>> types =
+    Arrays.<Class<? extends Coffee>>asList(Latte.class,
+      Mocha.class, Cappuccino.class, Americano.class,
+      Breve.class);
   private static Random rand = new Random(47);
   public CoffeeGenerator() {}
   // For iteration:
   private int size = 0;
   public CoffeeGenerator(int sz) { size = sz; }	
   public Coffee next() {
-    try {
-      return (Coffee)
-        types[rand.nextInt(types.length)].newInstance();
-      // Report programmer errors at run time:
-    } catch(Exception e) {
-      throw new RuntimeException(e);
-    }
+    // Each constructor is bound once, on first use:
+    return Constructors.create(
+      types.get(rand.nextInt(types.size())));
+  }
+  // Binds each type's constructor once for the whole
+  // array, and makes the same choices as next():
+  public Coffee[] createArray(int count) {
+    List<Supplier<? extends Coffee>> constructors =
+      new ArrayList<Supplier<? extends Coffee>>(types.size());
+    for(Class<? extends Coffee> type : types)
+      constructors.add(Constructors.supplier(type));
+    Coffee[] result = new Coffee[count];
+    for(int i = 0; i < count; i++)
+      result[i] =
+        constructors.get(rand.nextInt(constructors.size())).get();
+    return result;
   }
   class CoffeeIterator implements Iterator<Coffee> {
     int count = size;
@@ -0,0 +1,35 @@
+//: holding/ParallelUniqueWords.java
+package holding;
+// UniqueWords for files too big to read into a TextFile.
+import java.nio.charset.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.regex.*;
+import net.mindview.util.*;
+
+public class ParallelUniqueWords {
+  public static void main(String[] args) {
+    final Pattern splitter = Pattern.compile("\\W+");
+    Set<String> words = TextFile.parallelLines(
+      "SetOperations.java", Charset.forName("UTF-8"),
+      new Supplier<Set<String>>() {
+        public Set<String> get() { return new TreeSet<String>(); }
+      },
+      new BiConsumer<Set<String>,CharSequence>() {
+        public void accept(Set<String> set, CharSequence line) {
+          for(String word : splitter.split(line))
+            if(word.length() > 0)
+              set.add(word);
+        }
+      },
+      new BinaryOperator<Set<String>>() {
+        public Set<String> apply(Set<String> a, Set<String> b) {
+          a.addAll(b);
+          return a;
+        }
+      });
+    System.out.println(words);
+  }
+} /* Output:
+[A, Added, B, C, Collections, D, E, Eclipse, F, G, H, HashSet, I, J, K, L, M, N, Output, Print, Set, SetOperations, String, X, Y, Z, add, addAll, added, args, by, class, contains, containsAll, false, from, holding, import, in, java, main, mindview, net, new, package, print, public, py, remove, removeAll, removed, set1, set2, split, static, to, true, util, void]
+*///:~
@@ -1,47 +1,60 @@
 //: net/mindview/atunit/ClassNameFinder.java
 package net.mindview.atunit;
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 import net.mindview.util.*;
 import static net.mindview.util.Print.*;
 
 public class ClassNameFinder {
   public static String thisClass(byte[] classBytes) {
+    return thisClass(ByteBuffer.wrap(classBytes));
+  }
+  // Reads straight from the buffer, which may be a
+  // mapped file, so nothing is copied:
+  public static String thisClass(ByteBuffer classBytes) {
     Map<Integer,Integer> offsetTable =
       new HashMap<Integer,Integer>();
     Map<Integer,String> classNameTable =
       new HashMap<Integer,String>();
     try {
-      DataInputStream data = new DataInputStream(
-        new ByteArrayInputStream(classBytes));
-      int magic = data.readInt();  // 0xcafebabe
-      int minorVersion = data.readShort();
-      int majorVersion = data.readShort();
-      int constant_pool_count = data.readShort();
+      ByteBuffer data = classBytes.duplicate();
+      data.order(ByteOrder.BIG_ENDIAN);
+      int magic = data.getInt();  // 0xcafebabe
+      int minorVersion = data.getShort();
+      int majorVersion = data.getShort();
+      int constant_pool_count = data.getShort() & 0xFFFF;
       int[] constant_pool = new int[constant_pool_count];
       for(int i = 1; i < constant_pool_count; i++) {
-        int tag = data.read();
+        int tag = data.get();
         int tableSize;
         switch(tag) {
           case 1: // UTF
-            int length = data.readShort();
+            int length = data.getShort() & 0xFFFF;
             char[] bytes = new char[length];
             for(int k = 0; k < bytes.length; k++)
-              bytes[k] = (char)data.read();
+              bytes[k] = (char)(data.get() & 0xFF);
             String className = new String(bytes);
             classNameTable.put(i, className);
             break;
           case 5: // LONG
           case 6: // DOUBLE
-            data.readLong(); // discard 8 bytes
+            data.getLong(); // discard 8 bytes
             i++; // Special skip necessary
             break;
           case 7: // CLASS
-            int offset = data.readShort();
+            int offset = data.getShort() & 0xFFFF;
             offsetTable.put(i, offset);
             break;
-          case 8: // STRING
-            data.readShort(); // discard 2 bytes
+          case 8:  // STRING
+          case 16: // METHOD_TYPE
+          case 19: // MODULE
+          case 20: // PACKAGE
+            data.getShort(); // discard 2 bytes
+            break;
+          case 15: // METHOD_HANDLE
+            data.get(); // discard 3 bytes
+            data.getShort();
             break;
           case 3:  // INTEGER
           case 4:  // FLOAT
@@ -49,15 +62,17 @@ public class ClassNameFinder {
           case 10: // METHOD_REF
           case 11: // INTERFACE_METHOD_REF
           case 12: // NAME_AND_TYPE
-            data.readInt(); // discard 4 bytes;
+          case 17: // DYNAMIC
+          case 18: // INVOKE_DYNAMIC
+            data.getInt(); // discard 4 bytes;
             break;
           default:
             throw new RuntimeException("Bad tag " + tag);
         }
       }
-      short access_flags = data.readShort();
-      int this_class = data.readShort();
-      int super_class = data.readShort();
+      short access_flags = data.getShort();
+      int this_class = data.getShort() & 0xFFFF;
+      int super_class = data.getShort() & 0xFFFF;
       return classNameTable.get(
         offsetTable.get(this_class)).replace('/', '.');
     } catch(Exception e) {
@@ -68,10 +83,10 @@ public class ClassNameFinder {
   public static void main(String[] args) throws Exception {
     if(args.length > 0) {
       for(String arg : args)
-        print(thisClass(BinaryFile.read(new File(arg))));
+        print(thisClass(BinaryFile.map(new File(arg))));
     } else
       // Walk the entire tree:
       for(File klass : Directory.walk(".", ".*\\.class"))
-        print(thisClass(BinaryFile.read(klass)));
+        print(thisClass(BinaryFile.map(klass)));
   }
 } ///:~
@@ -2,17 +2,21 @@
 // Automatically create a Generator, given a class
 // with a default (no-arg) constructor.
 package net.mindview.util;
+import java.util.function.*;
 
 public class BasicGenerator<T> implements Generator<T> {
   private Class<T> type;
+  private Supplier<T> constructor; // Bound on first use
   public BasicGenerator(Class<T> type){ this.type = type; }
   public T next() {
-    try {
-      // Assumes type is a public class:
-      return type.newInstance();
-    } catch(Exception e) {
-      throw new RuntimeException(e);
-    }
+    // Assumes type is a public class:
+    if(constructor == null)
+      constructor = Constructors.supplier(type);
+    return constructor.get();
+  }
+  // Fill a new array without a lookup per element:
+  public T[] createArray(int size) {
+    return Constructors.createArray(type, size);
   }
   // Produce a Default generator given a type token:
   public static <T> Generator<T> create(Class<T> type) {
@@ -2,21 +2,88 @@
 // Utility for reading files in binary form.
 package net.mindview.util;
 import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
 
 public class BinaryFile {
+  // Largest array the JVM will reliably allocate:
+  static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
   public static byte[] read(File bFile) throws IOException{
-    BufferedInputStream bf = new BufferedInputStream(
-      new FileInputStream(bFile));
+    long length = bFile.length();
+    if(length > MAX_ARRAY)
+      throw new IOException(bFile + " is too large (" +
+        length + " bytes) for an array; use map()");
+    InputStream in = new FileInputStream(bFile);
     try {
-      byte[] data = new byte[bf.available()];
-      bf.read(data);
-      return data;
+      // A single read() may return fewer bytes than asked
+      // for, so keep reading until the array is full:
+      byte[] data = new byte[(int)length];
+      int n = 0;
+      while(n < data.length) {
+        int count = in.read(data, n, data.length - n);
+        if(count < 0) // The file shrank
+          return Arrays.copyOf(data, n);
+        n += count;
+      }
+      // The length is 0 for pipes and devices, and the
+      // file may have grown, so drain whatever is left:
+      int b = in.read();
+      if(b < 0)
+        return data;
+      ByteArrayOutputStream rest = new ByteArrayOutputStream();
+      rest.write(data, 0, n);
+      rest.write(b);
+      byte[] buf = new byte[8192];
+      while((n = in.read(buf)) > 0)
+        rest.write(buf, 0, n);
+      return rest.toByteArray();
     } finally {
-      bf.close();
+      in.close();
     }
   }
   public static byte[]
   read(String bFile) throws IOException {
     return read(new File(bFile).getAbsoluteFile());
   }
+  // Map the file read-only, without copying it onto the
+  // heap. A single mapping is limited to 2 GB:
+  public static MappedByteBuffer
+  map(File bFile) throws IOException {
+    MappedByteBuffer[] segments =
+      map(bFile, Integer.MAX_VALUE);
+    if(segments.length > 1)
+      throw new IOException(bFile + " is too large (" +
+        bFile.length() + " bytes) for one mapping; " +
+        "use map(file, segmentSize)");
+    return segments[0];
+  }
+  // Map a file of any size as consecutive read-only
+  // segments of at most segmentSize bytes:
+  public static MappedByteBuffer[]
+  map(File bFile, int segmentSize) throws IOException {
+    if(segmentSize <= 0)
+      throw new IllegalArgumentException(
+        "segmentSize must be positive: " + segmentSize);
+    FileChannel fc = new FileInputStream(bFile).getChannel();
+    try {
+      long length = fc.size();
+      int count = (int)Math.max(1,
+        (length + segmentSize - 1) / segmentSize);
+      MappedByteBuffer[] segments = new MappedByteBuffer[count];
+      for(int i = 0; i < count; i++) {
+        long start = (long)i * segmentSize;
+        segments[i] = fc.map(FileChannel.MapMode.READ_ONLY,
+          start, Math.min(segmentSize, length - start));
+      }
+      // The mappings stay valid after the channel closes:
+      return segments;
+    } finally {
+      fc.close();
+    }
+  }
+  public static MappedByteBuffer
+  map(String bFile) throws IOException {
+    return map(new File(bFile).getAbsoluteFile());
+  }
 } ///:~
@@ -2,15 +2,37 @@
 // A Collection filled with data using a generator object.
 package net.mindview.util;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class CollectionData<T> extends ArrayList<T> {
   public CollectionData(Generator<T> gen, int quantity) {
+    super(Math.max(quantity, 0)); // Presize, no regrowth
     for(int i = 0; i < quantity; i++)
       add(gen.next());
   }
+  private CollectionData(int quantity) {
+    super(Math.max(quantity, 0));
+  }
   // A generic convenience method:
   public static <T> CollectionData<T>
   list(Generator<T> gen, int quantity) {
     return new CollectionData<T>(gen, quantity);
   }
+  // Generate chunks in parallel, keeping index order.
+  // The chunks are written straight into this list's
+  // own storage, so there's never a second copy:
+  public static <T> CollectionData<T> parallelList(
+      SplittableGenerator<T> gen, int quantity,
+      ForkJoinPool pool) {
+    CollectionData<T> result = new CollectionData<T>(quantity);
+    for(int i = 0; i < quantity; i++)
+      result.add(null); // The slots to fill
+    Generated.parallelFill(result, gen, pool);
+    return result;
+  }
+  public static <T> CollectionData<T>
+  parallelList(SplittableGenerator<T> gen, int quantity) {
+    return parallelList(gen, quantity,
+      ForkJoinPool.commonPool());
+  }
 } ///:~
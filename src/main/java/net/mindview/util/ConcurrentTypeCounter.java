@@ -0,0 +1,109 @@
+//: net/mindview/util/ConcurrentTypeCounter.java
+// Counts instances of a type family from many threads.
+package net.mindview.util;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+public class ConcurrentTypeCounter {
+  private final Class<?> baseType;
+  // One per counted class, striped across threads:
+  private static class Count extends LongAdder {
+    final Class<?> type;
+    final int depth; // Distance below baseType
+    Count(Class<?> type, int depth) {
+      this.type = type;
+      this.depth = depth;
+    }
+  }
+  private final ConcurrentMap<Class<?>,Count> counts =
+    new ConcurrentHashMap<Class<?>,Count>();
+  // In the order the classes were first seen:
+  private final List<Count> order =
+    new CopyOnWriteArrayList<Count>();
+  private static final Count[] WRONG_TYPE = new Count[0];
+  // Each class's counts, from baseType down to the class
+  // itself, worked out once rather than on every count():
+  private final ClassValue<Count[]> chains =
+    new ClassValue<Count[]>() {
+      protected Count[] computeValue(Class<?> type) {
+        if(!baseType.isAssignableFrom(type))
+          return WRONG_TYPE;
+        List<Class<?>> ancestry = new ArrayList<Class<?>>();
+        for(Class<?> c = type;
+            c != null && baseType.isAssignableFrom(c);
+            c = c.getSuperclass())
+          ancestry.add(0, c);
+        Count[] chain = new Count[ancestry.size()];
+        for(int i = 0; i < chain.length; i++)
+          chain[i] = count(ancestry.get(i), i);
+        return chain;
+      }
+    };
+  public ConcurrentTypeCounter(Class<?> baseType) {
+    this.baseType = baseType;
+  }
+  private Count count(Class<?> type, int depth) {
+    Count c = counts.get(type);
+    if(c == null) {
+      Count fresh = new Count(type, depth);
+      c = counts.putIfAbsent(type, fresh);
+      if(c == null) {
+        order.add(fresh);
+        c = fresh;
+      }
+    }
+    return c;
+  }
+  public void count(Object obj) {
+    Class<?> type = obj.getClass();
+    Count[] chain = chains.get(type);
+    if(chain == WRONG_TYPE)
+      throw new RuntimeException(obj + " incorrect type: "
+        + type + ", should be type or subtype of "
+        + baseType);
+    // Ancestors first, so a type's count is never seen
+    // below the total of its subtypes':
+    for(Count c : chain)
+      c.increment();
+  }
+  public long get(Class<?> type) {
+    Count c = counts.get(type);
+    return c == null ? 0 : c.sum();
+  }
+  // The counts, without stopping count() callers. Each
+  // class is read before its ancestors, which were
+  // incremented first, so the totals always add up:
+  // every type's count is at least the sum of its
+  // subtypes'. Exact when no count() is in progress:
+  public Map<Class<?>,Long> snapshot() {
+    Count[] all = order.toArray(new Count[0]);
+    Count[] deepestFirst = all.clone();
+    Arrays.sort(deepestFirst, new Comparator<Count>() {
+      public int compare(Count a, Count b) {
+        return b.depth - a.depth;
+      }
+    });
+    Map<Count,Long> sums = new IdentityHashMap<Count,Long>();
+    for(Count c : deepestFirst)
+      sums.put(c, c.sum());
+    Map<Class<?>,Long> result =
+      new LinkedHashMap<Class<?>,Long>();
+    for(Count c : all)
+      result.put(c.type, sums.get(c));
+    return Collections.unmodifiableMap(result);
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("{");
+    for(Map.Entry<Class<?>,Long> pair : snapshot().entrySet()) {
+      result.append(pair.getKey().getSimpleName());
+      result.append("=");
+      result.append(pair.getValue());
+      result.append(", ");
+    }
+    if(result.length() > 1)
+      result.delete(result.length()-2, result.length());
+    result.append("}");
+    return result.toString();
+  }
+} ///:~
@@ -0,0 +1,72 @@
+//: net/mindview/util/Constructors.java
+// No-arg constructors bound once per class, rather than
+// looked up and access-checked by Class.newInstance()
+// for every object.
+package net.mindview.util;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.function.*;
+
+public class Constructors {
+  private static final ClassValue<Supplier<?>> suppliers =
+    new ClassValue<Supplier<?>>() {
+      protected Supplier<?> computeValue(Class<?> type) {
+        return bind(type);
+      }
+    };
+  // Like newInstance(), assumes a public class with a
+  // public no-arg constructor:
+  @SuppressWarnings("unchecked")
+  public static <T> Supplier<T> supplier(Class<T> type) {
+    return (Supplier<T>)suppliers.get(type);
+  }
+  public static <T> T create(Class<T> type) {
+    return supplier(type).get();
+  }
+  // Looks the constructor up once for the whole array:
+  public static <T> T[] createArray(Class<T> type, int size) {
+    Supplier<T> constructor = supplier(type);
+    @SuppressWarnings("unchecked")
+    T[] result = (T[])Array.newInstance(type, size);
+    for(int i = 0; i < size; i++)
+      result[i] = constructor.get();
+    return result;
+  }
+  private static Supplier<?> bind(Class<?> type) {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle constructor;
+    try {
+      if(Modifier.isAbstract(type.getModifiers()))
+        throw new InstantiationException(type.getName());
+      constructor = lookup.findConstructor(
+        type, MethodType.methodType(void.class));
+    } catch(ReflectiveOperationException e) {
+      throw new RuntimeException(e);
+    }
+    try {
+      // Spin a Supplier whose get() just calls the
+      // constructor, as fast as writing "new":
+      return (Supplier<?>)LambdaMetafactory.metafactory(
+        lookup, "get", MethodType.methodType(Supplier.class),
+        MethodType.methodType(Object.class), constructor,
+        MethodType.methodType(type)).getTarget().invokeExact();
+    } catch(Throwable e) {
+      // Fall back to calling through the handle:
+      final MethodHandle generic =
+        constructor.asType(MethodType.methodType(Object.class));
+      return new Supplier<Object>() {
+        public Object get() {
+          try {
+            return generic.invokeExact();
+          } catch(RuntimeException e) {
+            throw e;
+          } catch(Error e) {
+            throw e;
+          } catch(Throwable e) {
+            throw new RuntimeException(e);
+          }
+        }
+      };
+    }
+  }
+} ///:~
@@ -11,20 +11,26 @@ public class CountingGenerator {
       return value;
     }
   }
+  // The numeric and char generators also implement a
+  // primitive interface, sharing the same count:
   public static class
-  Byte implements Generator<java.lang.Byte> {
+  Byte implements Generator<java.lang.Byte>, IntGenerator {
     private byte value = 0;
-    public java.lang.Byte next() { return value++; }
+    public int nextInt() { return value++; }
+    public java.lang.Byte next() { return (byte)nextInt(); }
   }
   static char[] chars = ("abcdefghijklmnopqrstuvwxyz" +
     "ABCDEFGHIJKLMNOPQRSTUVWXYZ").toCharArray();
-  public static class
-  Character implements Generator<java.lang.Character> {
+  public static class Character
+  implements Generator<java.lang.Character>, IntGenerator {
     int index = -1;
-    public java.lang.Character next() {
+    public int nextInt() {
       index = (index + 1) % chars.length;
       return chars[index];
     }
+    public java.lang.Character next() {
+      return (char)nextInt();
+    }
   }
   public static class
   String implements Generator<java.lang.String> {
@@ -40,36 +46,43 @@ public class CountingGenerator {
     }
   }
   public static class
-  Short implements Generator<java.lang.Short> {
+  Short implements Generator<java.lang.Short>, IntGenerator {
     private short value = 0;
-    public java.lang.Short next() { return value++; }
+    public int nextInt() { return value++; }
+    public java.lang.Short next() { return (short)nextInt(); }
   }
-  public static class
-  Integer implements Generator<java.lang.Integer> {
+  public static class Integer
+  implements Generator<java.lang.Integer>, IntGenerator {
     private int value = 0;
-    public java.lang.Integer next() { return value++; }
+    public int nextInt() { return value++; }
+    public java.lang.Integer next() { return nextInt(); }
   }
   public static class
-  Long implements Generator<java.lang.Long> {
+  Long implements Generator<java.lang.Long>, LongGenerator {
     private long value = 0;
-    public java.lang.Long next() { return value++; }
+    public long nextLong() { return value++; }
+    public java.lang.Long next() { return nextLong(); }
   }
-  public static class
-  Float implements Generator<java.lang.Float> {
+  public static class Float
+  implements Generator<java.lang.Float>, DoubleGenerator {
     private float value = 0;
-    public java.lang.Float next() {
+    public double nextDouble() {
       float result = value;
       value += 1.0;
       return result;
     }
+    public java.lang.Float next() {
+      return (float)nextDouble();
+    }
   }
-  public static class
-  Double implements Generator<java.lang.Double> {
+  public static class Double
+  implements Generator<java.lang.Double>, DoubleGenerator {
     private double value = 0.0;
-    public java.lang.Double next() {
+    public double nextDouble() {
       double result = value;
       value += 1.0;
       return result;
     }
+    public java.lang.Double next() { return nextDouble(); }
   }
 } ///:~
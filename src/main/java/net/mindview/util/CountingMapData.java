@@ -10,8 +10,20 @@ extends AbstractMap<Integer,String> {
     "A B C D E F G H I J K L M N O P Q R S T U V W X Y Z"
     .split(" ");
   public CountingMapData(int size) {
-    if(size < 0) this.size = 0;
-    this.size = size;
+    this.size = size < 0 ? 0 : size;
+  }
+  // Values for the low indexes are built once and shared
+  // by every instance; the rest are built on demand:
+  private static final String[] values = new String[4096];
+  private static String value(int index) {
+    if(index >= values.length)
+      return chars[index % chars.length] +
+        Integer.toString(index / chars.length);
+    String v = values[index];
+    if(v == null) // A race just builds an equal String
+      values[index] = v = chars[index % chars.length] +
+        Integer.toString(index / chars.length);
+    return v;
   }
   private static class Entry
   implements Map.Entry<Integer,String> {
@@ -21,11 +33,7 @@ extends AbstractMap<Integer,String> {
       return Integer.valueOf(index).equals(o);
     }
     public Integer getKey() { return index; }
-    public String getValue() {
-      return
-        chars[index % chars.length] +
-        Integer.toString(index / chars.length);
-    }
+    public String getValue() { return value(index); }
     public String setValue(String value) {
       throw new UnsupportedOperationException();
     }
@@ -33,14 +41,54 @@ extends AbstractMap<Integer,String> {
       return Integer.valueOf(index).hashCode();
     }
   }
+  // A virtual view; nothing is copied:
+  private class EntrySet
+  extends AbstractSet<Map.Entry<Integer,String>> {
+    public int size() { return size; }
+    public boolean contains(Object o) {
+      if(!(o instanceof Map.Entry))
+        return false;
+      Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+      return containsKey(e.getKey()) &&
+        get(e.getKey()).equals(e.getValue());
+    }
+    public Iterator<Map.Entry<Integer,String>> iterator() {
+      return new Iterator<Map.Entry<Integer,String>>() {
+        // Only one Entry object per Iterator:
+        private Entry entry = new Entry(-1);
+        public boolean hasNext() {
+          return entry.index < size - 1;
+        }
+        public Map.Entry<Integer,String> next() {
+          if(!hasNext())
+            throw new NoSuchElementException();
+          entry.index++;
+          return entry;
+        }
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+  }
+  private Set<Map.Entry<Integer,String>> entries;
   public Set<Map.Entry<Integer,String>> entrySet() {
-    // LinkedHashSet retains initialization order:
-    Set<Map.Entry<Integer,String>> entries =
-      new LinkedHashSet<Map.Entry<Integer,String>>();
-    for(int i = 0; i < size; i++)
-      entries.add(new Entry(i));
+    if(entries == null)
+      entries = new EntrySet();
     return entries;
   }
+  // Computed from the index instead of searching
+  // entrySet(), as AbstractMap would:
+  public int size() { return size; }
+  public boolean containsKey(Object key) {
+    if(!(key instanceof Integer))
+      return false;
+    int index = (Integer)key;
+    return index >= 0 && index < size;
+  }
+  public String get(Object key) {
+    return containsKey(key) ? value((Integer)key) : null;
+  }
   public static void main(String[] args) {
     System.out.println(new CountingMapData(60));
   }
@@ -130,6 +130,40 @@ public class Countries {
     {"TRINIDAD AND TOBAGO","Port of Spain"},
     {"URUGUAY","Montevideo"}, {"VENEZUELA","Caracas"},
   };
+  // Open-addressed tables of DATA indexes, built once so
+  // that lookups hash rather than scan DATA. At most half
+  // full, which keeps the probe sequences short:
+  private static final int[] BY_NAME = index(0);
+  private static final int[] BY_CAPITAL = index(1);
+  private static int[] index(int column) {
+    int[] table = new int[Integer.highestOneBit(
+      Math.max(DATA.length, 1) * 2) * 2];
+    Arrays.fill(table, -1);
+    next:
+    for(int i = 0; i < DATA.length; i++) {
+      int slot = slot(DATA[i][column], table.length);
+      for(; table[slot] != -1;
+          slot = (slot + 1) & (table.length - 1))
+        if(DATA[table[slot]][column].equals(DATA[i][column]))
+          continue next; // The first one wins
+      table[slot] = i;
+    }
+    return table;
+  }
+  private static int slot(Object key, int length) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & (length - 1);
+  }
+  // Index in DATA, or -1:
+  private static int find(int[] table, int column, Object key) {
+    if(!(key instanceof String))
+      return -1;
+    for(int slot = slot(key, table.length); table[slot] != -1;
+        slot = (slot + 1) & (table.length - 1))
+      if(DATA[table[slot]][column].equals(key))
+        return table[slot];
+    return -1;
+  }
   // Use AbstractMap by implementing entrySet()
   private static class FlyweightMap
   extends AbstractMap<String,String> {
@@ -183,34 +217,78 @@ public class Countries {
         return new Iter();
       }
     }
-    private static Set<Map.Entry<String,String>> entries =
-      new EntrySet(DATA.length);
+    private final EntrySet entries;
+    // The first size countries in DATA:
+    FlyweightMap(int size) { entries = new EntrySet(size); }
     public Set<Map.Entry<String,String>> entrySet() {
       return entries;
     }
+    // Hashed, rather than AbstractMap's linear
+    // search through entrySet():
+    public int size() { return entries.size(); }
+    public boolean containsKey(Object key) {
+      return inRange(find(BY_NAME, 0, key));
+    }
+    public String get(Object key) {
+      int i = find(BY_NAME, 0, key);
+      return inRange(i) ? DATA[i][1] : null;
+    }
+    public boolean containsValue(Object value) {
+      // The first country with this capital, so if it's
+      // out of range, so are any others:
+      return inRange(find(BY_CAPITAL, 1, value));
+    }
+    private boolean inRange(int i) {
+      return i >= 0 && i < entries.size();
+    }
   }
   // Create a partial map of 'size' countries:
   static Map<String,String> select(final int size) {
-    return new FlyweightMap() {
-      public Set<Map.Entry<String,String>> entrySet() {
-        return new EntrySet(size);
-      }
-    };
+    return new FlyweightMap(size);
   }
-  static Map<String,String> map = new FlyweightMap();
+  static Map<String,String> map = new FlyweightMap(DATA.length);
   public static Map<String,String> capitals() {
     return map; // The entire map
   }
   public static Map<String,String> capitals(int size) {
     return select(size); // A partial map
   }
-  static List<String> names =
-    new ArrayList<String>(map.keySet());
+  // The reverse of capitals().get(), or null:
+  public static String country(String capital) {
+    int i = find(BY_CAPITAL, 1, capital);
+    return i < 0 ? null : DATA[i][0];
+  }
+  // A read-only view of the first size names in DATA,
+  // rather than a copy:
+  private static class Names extends AbstractList<String>
+  implements RandomAccess {
+    private final int size;
+    Names(int size) {
+      this.size = Math.max(0, Math.min(size, DATA.length));
+    }
+    public String get(int i) {
+      if(i < 0 || i >= size)
+        throw new IndexOutOfBoundsException(
+          "Index: " + i + ", Size: " + size);
+      return DATA[i][0];
+    }
+    public int size() { return size; }
+    // Names are unique, so there's at most one:
+    public int indexOf(Object o) {
+      int i = find(BY_NAME, 0, o);
+      return i < size ? i : -1;
+    }
+    public int lastIndexOf(Object o) { return indexOf(o); }
+    public boolean contains(Object o) {
+      return indexOf(o) >= 0;
+    }
+  }
+  static List<String> names = new Names(DATA.length);
   // All the names:
   public static List<String> names() { return names; }
   // A partial list:
   public static List<String> names(int size) {
-    return new ArrayList<String>(select(size).keySet());
+    return new Names(size);
   }
   public static void main(String[] args) {
     print(capitals(10));
@@ -225,6 +303,7 @@ public class Countries {
     print(new ArrayList<String>(names(6)));
     print(new LinkedList<String>(names(6)));
     print(capitals().get("BRAZIL"));
+    print(country("Brasilia"));
   }
 } /* Output:
 {ALGERIA=Algiers, ANGOLA=Luanda, BENIN=Porto-Novo, BOTSWANA=Gaberone, BULGARIA=Sofia, BURKINA FASO=Ouagadougou, BURUNDI=Bujumbura, CAMEROON=Yaounde, CAPE VERDE=Praia, CENTRAL AFRICAN REPUBLIC=Bangui}
@@ -239,4 +318,5 @@ public class Countries {
 [ALGERIA, ANGOLA, BENIN, BOTSWANA, BULGARIA, BURKINA FASO]
 [ALGERIA, ANGOLA, BENIN, BOTSWANA, BULGARIA, BURKINA FASO]
 Brasilia
+BRAZIL
 *///:~
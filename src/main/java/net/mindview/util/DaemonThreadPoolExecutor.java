@@ -1,12 +1,222 @@
 //: net/mindview/util/DaemonThreadPoolExecutor.java
 package net.mindview.util;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 public class DaemonThreadPoolExecutor
-extends ThreadPoolExecutor {
+extends ThreadPoolExecutor implements MonitoredExecutor {
+  // What a bounded pool does when its queue is full:
+  public enum Backpressure {
+    CALLER_RUNS, // The submitting thread runs the task
+    BLOCK,       // The submitter waits for queue space
+    REJECT       // Throw RejectedExecutionException
+  }
+  private final LongAdder rejected;
+  // Unbounded: a new thread for every task that can't
+  // be handed straight to an idle one:
   public DaemonThreadPoolExecutor() {
-    super(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
-      new SynchronousQueue<Runnable>(),
+    this(0, Integer.MAX_VALUE, new SynchronousQueue<Runnable>(),
+      Backpressure.REJECT);
+  }
+  // At most threads threads and queueCapacity waiting
+  // tasks, so a burst can't exhaust native threads:
+  public DaemonThreadPoolExecutor(int threads,
+      int queueCapacity, Backpressure backpressure) {
+    this(threads, threads,
+      new ArrayBlockingQueue<Runnable>(queueCapacity),
+      backpressure);
+  }
+  private DaemonThreadPoolExecutor(int core, int max,
+      BlockingQueue<Runnable> queue, Backpressure backpressure) {
+    super(core, max, 60L, TimeUnit.SECONDS, queue,
       new DaemonThreadFactory());
+    rejected = new LongAdder();
+    setRejectedExecutionHandler(handler(backpressure));
+  }
+  private RejectedExecutionHandler
+  handler(final Backpressure backpressure) {
+    return new RejectedExecutionHandler() {
+      public void rejectedExecution(Runnable r,
+          ThreadPoolExecutor exec) {
+        rejected.increment();
+        if(exec.isShutdown())
+          throw new RejectedExecutionException(
+            "Executor has been shut down");
+        switch(backpressure) {
+          case CALLER_RUNS:
+            r.run();
+            return;
+          case BLOCK:
+            try {
+              exec.getQueue().put(r);
+            } catch(InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new RejectedExecutionException(e);
+            }
+            // Don't strand it if we shut down meanwhile:
+            if(exec.isShutdown() && exec.remove(r))
+              throw new RejectedExecutionException(
+                "Executor has been shut down");
+            return;
+          default:
+            throw new RejectedExecutionException(
+              "Task queue is full");
+        }
+      }
+    };
+  }
+  public int queueDepth() { return getQueue().size(); }
+  public int activeThreads() { return getActiveCount(); }
+  public long rejectedTasks() { return rejected.sum(); }
+  // Work-stealing: each worker has its own deque and
+  // idle workers take from busy ones. Workers of the
+  // default ForkJoinPool factory are already daemons:
+  public static MonitoredExecutor workStealing(int parallelism) {
+    return new WorkStealing(parallelism);
+  }
+  private static class WorkStealing extends ForkJoinPool
+  implements MonitoredExecutor {
+    private final LongAdder rejected = new LongAdder();
+    WorkStealing(int parallelism) { super(parallelism); }
+    public int queueDepth() {
+      return (int)Math.min(Integer.MAX_VALUE,
+        getQueuedSubmissionCount() + getQueuedTaskCount());
+    }
+    public int activeThreads() { return getActiveThreadCount(); }
+    public long rejectedTasks() { return rejected.sum(); }
+    // Each public submission path, so rejections are
+    // counted; the pool's own submission code is private:
+    public void execute(Runnable task) {
+      try {
+        super.execute(task);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    public void execute(ForkJoinTask<?> task) {
+      try {
+        super.execute(task);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    public <T> ForkJoinTask<T> submit(ForkJoinTask<T> task) {
+      try {
+        return super.submit(task);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+      try {
+        return super.submit(task);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+      try {
+        return super.submit(task, result);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    public ForkJoinTask<?> submit(Runnable task) {
+      try {
+        return super.submit(task);
+      } catch(RejectedExecutionException e) {
+        throw counted(e);
+      }
+    }
+    // Submits through execute(), so only a rejection is
+    // counted, not a RejectedExecutionException that the
+    // task itself throws and join() passes on:
+    public <T> T invoke(ForkJoinTask<T> task) {
+      execute(task);
+      return task.join();
+    }
+    private RejectedExecutionException
+    counted(RejectedExecutionException e) {
+      rejected.increment();
+      return e;
+    }
+  }
+  // A fresh thread for each task, with nothing queued.
+  // That's only cheap with lightweight threads: on Java
+  // 21 and later, pass Thread.ofVirtual().factory():
+  public static MonitoredExecutor perTask(ThreadFactory factory) {
+    return new PerTask(factory);
+  }
+  // Daemon platform threads, for testing on older JVMs:
+  public static MonitoredExecutor perTask() {
+    return perTask(new DaemonThreadFactory());
+  }
+  private static class PerTask extends AbstractExecutorService
+  implements MonitoredExecutor {
+    private final ThreadFactory factory;
+    private final Set<Thread> running = new HashSet<Thread>();
+    private final LongAdder rejected = new LongAdder();
+    private boolean shutdown;
+    PerTask(ThreadFactory factory) { this.factory = factory; }
+    public void execute(final Runnable task) {
+      Thread t = factory.newThread(new Runnable() {
+        public void run() {
+          try {
+            task.run();
+          } finally {
+            finished(Thread.currentThread());
+          }
+        }
+      });
+      synchronized(this) {
+        if(shutdown) {
+          rejected.increment();
+          throw new RejectedExecutionException(
+            "Executor has been shut down");
+        }
+        running.add(t);
+      }
+      try {
+        t.start();
+      } catch(Throwable e) {
+        // Such as "unable to create native thread". The
+        // thread never ran, so it will never call finished():
+        finished(t);
+        throw e;
+      }
+    }
+    private synchronized void finished(Thread t) {
+      running.remove(t);
+      if(running.isEmpty())
+        notifyAll(); // Possibly terminated
+    }
+    public int queueDepth() { return 0; }
+    public synchronized int activeThreads() {
+      return running.size();
+    }
+    public long rejectedTasks() { return rejected.sum(); }
+    public synchronized void shutdown() { shutdown = true; }
+    public synchronized List<Runnable> shutdownNow() {
+      shutdown = true;
+      for(Thread t : running)
+        t.interrupt();
+      return new ArrayList<Runnable>(); // Nothing queued
+    }
+    public synchronized boolean isShutdown() { return shutdown; }
+    public synchronized boolean isTerminated() {
+      return shutdown && running.isEmpty();
+    }
+    public synchronized boolean awaitTermination(long timeout,
+        TimeUnit unit) throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      while(!isTerminated()) {
+        long left = deadline - System.nanoTime();
+        if(left <= 0)
+          return false;
+        TimeUnit.NANOSECONDS.timedWait(this, left);
+      }
+      return true;
+    }
   }
 } ///:~
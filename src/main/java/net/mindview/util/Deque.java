@@ -1,17 +1,86 @@
 //: net/mindview/util/Deque.java
-// Creating a Deque from a LinkedList.
+// A Deque held in a circular, growable array.
 package net.mindview.util;
 import java.util.*;
 
-public class Deque<T> {
-  private LinkedList<T> deque = new LinkedList<T>();
-  public void addFirst(T e) { deque.addFirst(e); }
-  public void addLast(T e) { deque.addLast(e); }
-  public T getFirst() { return deque.getFirst(); }
-  public T getLast() { return deque.getLast(); }
-  public T removeFirst() { return deque.removeFirst(); }
-  public T removeLast() { return deque.removeLast(); }
-  public int size() { return deque.size(); }
-  public String toString() { return deque.toString(); }
-  // And other methods as necessary...
+public class Deque<T> implements Iterable<T> {
+  // The elements run from head, wrapping around the end.
+  // The length is always a power of two, so wrapping is
+  // a mask rather than a division:
+  private Object[] deque = new Object[16];
+  private int head, size;
+  public void addFirst(T e) {
+    grow();
+    head = (head - 1) & (deque.length - 1);
+    deque[head] = e;
+    size++;
+  }
+  public void addLast(T e) {
+    grow();
+    deque[(head + size) & (deque.length - 1)] = e;
+    size++;
+  }
+  public T getFirst() { return get(0); }
+  public T getLast() { return get(size - 1); }
+  public T removeFirst() {
+    T e = getFirst();
+    deque[head] = null; // Let it be collected
+    head = (head + 1) & (deque.length - 1);
+    size--;
+    return e;
+  }
+  public T removeLast() {
+    T e = getLast();
+    deque[(head + size - 1) & (deque.length - 1)] = null;
+    size--;
+    return e;
+  }
+  public int size() { return size; }
+  public boolean isEmpty() { return size == 0; }
+  public void clear() {
+    Arrays.fill(deque, null);
+    head = size = 0;
+  }
+  // Element i from the front:
+  @SuppressWarnings("unchecked")
+  private T get(int i) {
+    if(size == 0)
+      throw new NoSuchElementException();
+    return (T)deque[(head + i) & (deque.length - 1)];
+  }
+  private void grow() {
+    if(size < deque.length)
+      return;
+    // Unwrap into the front of an array twice the size:
+    Object[] bigger = new Object[deque.length * 2];
+    int toEnd = deque.length - head;
+    System.arraycopy(deque, head, bigger, 0, toEnd);
+    System.arraycopy(deque, 0, bigger, toEnd, head);
+    deque = bigger;
+    head = 0;
+  }
+  // From first to last:
+  public Iterator<T> iterator() {
+    return new Iterator<T>() {
+      private int index;
+      public boolean hasNext() { return index < size; }
+      public T next() {
+        if(index >= size)
+          throw new NoSuchElementException();
+        return get(index++);
+      }
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int i = 0; i < size; i++) {
+      if(i > 0)
+        result.append(", ");
+      result.append(get(i));
+    }
+    return result.append("]").toString();
+  }
 } ///:~
@@ -1,11 +1,17 @@
 //: net/mindview/util/Directory.java
 // Produce a sequence of File objects that match a
 // regular expression in either a local directory,
-// or by walking a directory tree.
+// or by walking a directory tree. Big trees can be
+// streamed lazily or walked in parallel.
 package net.mindview.util;
 import java.util.regex.*;
 import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
 
 public final class Directory {
   public static File[]
@@ -55,16 +61,204 @@ public final class Directory {
   }
   static TreeInfo recurseDirs(File startDir, String regex){
     TreeInfo result = new TreeInfo();
-    for(File item : startDir.listFiles()) {
+    // Compile once, and add to a single result rather
+    // than copying each level's lists upward:
+    recurseDirs(startDir, Pattern.compile(regex).matcher(""),
+      result);
+    return result;
+  }
+  private static void
+  recurseDirs(File dir, Matcher m, TreeInfo result) {
+    File[] items = dir.listFiles();
+    if(items == null) // Not readable
+      return;
+    for(File item : items) {
       if(item.isDirectory()) {
         result.dirs.add(item);
-        result.addAll(recurseDirs(item, regex));
+        recurseDirs(item, m, result);
       } else // Regular file
-        if(item.getName().matches(regex))
+        if(m.reset(item.getName()).matches())
           result.files.add(item);
     }
+  }
+  // Like walk(), but stops after limit entries, so the
+  // TreeInfo stays bounded however big the tree is:
+  public static TreeInfo
+  walk(File start, String regex, final int limit) {
+    final TreeInfo result = new TreeInfo();
+    final Matcher m = Pattern.compile(regex).matcher("");
+    final Path root = start.toPath();
+    try {
+      // Attributes come with each entry, so there is no
+      // extra isDirectory() call per file:
+      Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+        FileVisitResult added(List<File> list, Path path) {
+          list.add(path.toFile());
+          return result.files.size() + result.dirs.size() <
+            limit ? FileVisitResult.CONTINUE :
+            FileVisitResult.TERMINATE;
+        }
+        public FileVisitResult preVisitDirectory(Path dir,
+            BasicFileAttributes attrs) {
+          return dir.equals(root) ? FileVisitResult.CONTINUE :
+            added(result.dirs, dir);
+        }
+        public FileVisitResult visitFile(Path file,
+            BasicFileAttributes attrs) {
+          if(attrs.isDirectory() || !m.reset(
+              file.getFileName().toString()).matches())
+            return FileVisitResult.CONTINUE;
+          return added(result.files, file);
+        }
+        public FileVisitResult
+        visitFileFailed(Path file, IOException e) {
+          return FileVisitResult.CONTINUE; // Not readable
+        }
+      });
+    } catch(IOException e) {
+      throw new RuntimeException(e);
+    }
     return result;
   }
+  // A lazy stream of the matching files, read from disk
+  // as it is consumed. Like walk(), it skips directories
+  // that can't be read. Close it when done, to release
+  // the open directories:
+  public static Stream<File> stream(File start, String regex) {
+    final TreeIterator files =
+      new TreeIterator(start.toPath(), Pattern.compile(regex));
+    return StreamSupport.stream(
+      Spliterators.spliteratorUnknownSize(files,
+        Spliterator.ORDERED | Spliterator.NONNULL), false)
+      .onClose(new Runnable() {
+        public void run() { files.close(); }
+      });
+  }
+  // Depth first, holding one open DirectoryStream per
+  // level of the tree being read:
+  private static class TreeIterator
+  implements Iterator<File>, Closeable {
+    private final Pattern pattern;
+    private final List<DirectoryStream<Path>> open =
+      new ArrayList<DirectoryStream<Path>>();
+    private final List<Iterator<Path>> entries =
+      new ArrayList<Iterator<Path>>();
+    private File next;
+    TreeIterator(Path root, Pattern pattern) {
+      this.pattern = pattern;
+      enter(root);
+    }
+    private void enter(Path dir) {
+      try {
+        DirectoryStream<Path> stream =
+          Files.newDirectoryStream(dir);
+        open.add(stream);
+        entries.add(stream.iterator());
+      } catch(IOException e) {
+        // Not readable; skip it
+      }
+    }
+    private void leave() {
+      entries.remove(entries.size() - 1);
+      try {
+        open.remove(open.size() - 1).close();
+      } catch(IOException e) {
+        // Nothing more to read from it anyway
+      }
+    }
+    public boolean hasNext() {
+      while(next == null && !entries.isEmpty()) {
+        Iterator<Path> it = entries.get(entries.size() - 1);
+        Path entry;
+        try {
+          if(!it.hasNext()) {
+            leave();
+            continue;
+          }
+          entry = it.next();
+        } catch(DirectoryIteratorException e) {
+          leave(); // Failed part way; skip the rest
+          continue;
+        }
+        BasicFileAttributes attrs = attributes(entry);
+        if(attrs == null)
+          continue;
+        if(attrs.isDirectory())
+          enter(entry);
+        else if(pattern.matcher(
+            entry.getFileName().toString()).matches())
+          next = entry.toFile();
+      }
+      return next != null;
+    }
+    public File next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      File result = next;
+      next = null;
+      return result;
+    }
+    public void close() {
+      while(!entries.isEmpty())
+        leave();
+    }
+  }
+  // Directory listings don't carry attributes on most
+  // platforms, so this costs a stat per entry. Null if the
+  // entry was removed since it was listed:
+  private static BasicFileAttributes attributes(Path entry) {
+    try {
+      return Files.readAttributes(entry,
+        BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    } catch(IOException e) {
+      return null;
+    }
+  }
+  // Walk on a fork/join pool, one task per directory. The
+  // action is called from many threads at once:
+  public static void parallelWalk(File start, String regex,
+      Consumer<? super File> action) {
+    ForkJoinPool.commonPool().invoke(new WalkTask(
+      start.toPath(), Pattern.compile(regex), action));
+  }
+  private static class WalkTask extends RecursiveAction {
+    private final Path dir;
+    private final Pattern pattern;
+    private final Consumer<? super File> action;
+    WalkTask(Path dir, Pattern pattern,
+        Consumer<? super File> action) {
+      this.dir = dir;
+      this.pattern = pattern;
+      this.action = action;
+    }
+    protected void compute() {
+      List<WalkTask> subdirs = new ArrayList<WalkTask>();
+      try {
+        DirectoryStream<Path> entries =
+          Files.newDirectoryStream(dir);
+        try {
+          for(Path entry : entries) {
+            BasicFileAttributes attrs = attributes(entry);
+            if(attrs == null)
+              continue;
+            if(attrs.isDirectory())
+              subdirs.add(
+                new WalkTask(entry, pattern, action));
+            else if(pattern.matcher(
+                entry.getFileName().toString()).matches())
+              action.accept(entry.toFile());
+          }
+        } finally {
+          entries.close();
+        }
+      } catch(IOException e) {
+        return; // Not readable
+      } catch(DirectoryIteratorException e) {
+        // Failed part way; walk what was listed
+      }
+      invokeAll(subdirs);
+    }
+  }
   // Simple validation test:
   public static void main(String[] args) {
     if(args.length == 0)
@@ -0,0 +1,30 @@
+//: net/mindview/util/DoubleDoubleTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class DoubleDoubleTuple {
+  public final double first;
+  public final double second;
+  public DoubleDoubleTuple(double a, double b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Double,Double> boxed() {
+    return new TwoTuple<Double,Double>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof DoubleDoubleTuple))
+      return false;
+    DoubleDoubleTuple t = (DoubleDoubleTuple)o;
+    return Double.doubleToLongBits(first) ==
+      Double.doubleToLongBits(t.first) &&
+      Double.doubleToLongBits(second) ==
+      Double.doubleToLongBits(t.second);
+  }
+  public int hashCode() {
+    return 31 * Double.hashCode(first) + Double.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
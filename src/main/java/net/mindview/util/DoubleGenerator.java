@@ -0,0 +1,4 @@
+//: net/mindview/util/DoubleGenerator.java
+// A Generator specialized for double, so no boxing occurs.
+package net.mindview.util;
+public interface DoubleGenerator { double nextDouble(); } ///:~
@@ -0,0 +1,29 @@
+//: net/mindview/util/DoubleIntTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class DoubleIntTuple {
+  public final double first;
+  public final int second;
+  public DoubleIntTuple(double a, int b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Double,Integer> boxed() {
+    return new TwoTuple<Double,Integer>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof DoubleIntTuple))
+      return false;
+    DoubleIntTuple t = (DoubleIntTuple)o;
+    return Double.doubleToLongBits(first) ==
+      Double.doubleToLongBits(t.first) &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * Double.hashCode(first) + second;
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
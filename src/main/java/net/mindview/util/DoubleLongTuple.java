@@ -0,0 +1,29 @@
+//: net/mindview/util/DoubleLongTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class DoubleLongTuple {
+  public final double first;
+  public final long second;
+  public DoubleLongTuple(double a, long b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Double,Long> boxed() {
+    return new TwoTuple<Double,Long>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof DoubleLongTuple))
+      return false;
+    DoubleLongTuple t = (DoubleLongTuple)o;
+    return Double.doubleToLongBits(first) ==
+      Double.doubleToLongBits(t.first) &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * Double.hashCode(first) + Long.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
@@ -1,6 +1,7 @@
 //: net/mindview/util/Generated.java
 package net.mindview.util;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class Generated {
   // Fill an existing array:
@@ -15,4 +16,76 @@ public class Generated {
       (T[])java.lang.reflect.Array.newInstance(type, size);
     return new CollectionData<T>(gen, size).toArray(a);
   }
+  // Fill in parallel. Each chunk gets its own generator
+  // from the index it starts at, so the result is the
+  // same however the work is scheduled:
+  public static <T> T[]
+  parallelArray(T[] a, SplittableGenerator<T> gen) {
+    return parallelArray(a, gen, ForkJoinPool.commonPool());
+  }
+  public static <T> T[] parallelArray(T[] a,
+      SplittableGenerator<T> gen, ForkJoinPool pool) {
+    parallelFill(Arrays.asList(a), gen, pool);
+    return a;
+  }
+  // Overwrites every slot of a list whose size is fixed
+  // for the duration, such as an array view:
+  static <T> void parallelFill(List<T> slots,
+      SplittableGenerator<T> gen, ForkJoinPool pool) {
+    pool.invoke(new Fill<T>(slots, gen, 0, slots.size()));
+  }
+  private static class Fill<T> extends RecursiveAction {
+    private static final int CHUNK = SplittableGenerator.CHUNK;
+    private final List<T> slots;
+    private final SplittableGenerator<T> gen;
+    private final int lo, hi;
+    Fill(List<T> slots, SplittableGenerator<T> gen,
+        int lo, int hi) {
+      this.slots = slots;
+      this.gen = gen;
+      this.lo = lo;
+      this.hi = hi;
+    }
+    protected void compute() {
+      if(hi - lo <= CHUNK) {
+        Generator<T> g = gen.from(lo);
+        for(int i = lo; i < hi; i++)
+          slots.set(i, g.next());
+      } else {
+        // Split on a chunk boundary:
+        int chunks = (hi - lo + CHUNK - 1) / CHUNK;
+        int mid = lo + (chunks / 2) * CHUNK;
+        invokeAll(new Fill<T>(slots, gen, lo, mid),
+          new Fill<T>(slots, gen, mid, hi));
+      }
+    }
+  }
+  // Primitive arrays are filled in place, with no boxing:
+  public static int[] intArray(int[] a, IntGenerator gen) {
+    for(int i = 0; i < a.length; i++)
+      a[i] = gen.nextInt();
+    return a;
+  }
+  public static int[] intArray(IntGenerator gen, int size) {
+    return intArray(new int[size], gen);
+  }
+  public static long[] longArray(long[] a, LongGenerator gen) {
+    for(int i = 0; i < a.length; i++)
+      a[i] = gen.nextLong();
+    return a;
+  }
+  public static long[]
+  longArray(LongGenerator gen, int size) {
+    return longArray(new long[size], gen);
+  }
+  public static double[]
+  doubleArray(double[] a, DoubleGenerator gen) {
+    for(int i = 0; i < a.length; i++)
+      a[i] = gen.nextDouble();
+    return a;
+  }
+  public static double[]
+  doubleArray(DoubleGenerator gen, int size) {
+    return doubleArray(new double[size], gen);
+  }
 } ///:~
@@ -0,0 +1,152 @@
+//: net/mindview/util/GeneratedList.java
+// A virtual List whose elements are generated on demand,
+// one chunk at a time. With memoization, each chunk is
+// generated once and kept, so get() is fast anywhere and
+// the list is RandomAccess. Without it, memory use stays
+// bounded by a single chunk per traversal, and only the
+// most recent chunk is kept for get().
+package net.mindview.util;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+public class GeneratedList<T> extends AbstractList<T> {
+  private static final int CHUNK = SplittableGenerator.CHUNK;
+  private final SplittableGenerator<T> gen;
+  private final int size;
+  private final AtomicReferenceArray<Object[]> cache;
+  // The chunk get() generated last, when not memoized:
+  private static class Chunk {
+    final int number;
+    final Object[] values;
+    Chunk(int number, Object[] values) {
+      this.number = number;
+      this.values = values;
+    }
+  }
+  private volatile Chunk last;
+  private GeneratedList(SplittableGenerator<T> gen, int size,
+      boolean memoize) {
+    this.gen = gen;
+    this.size = size < 0 ? 0 : size;
+    cache = memoize ? new AtomicReferenceArray<Object[]>(
+      (this.size + CHUNK - 1) / CHUNK) : null;
+  }
+  public GeneratedList(SplittableGenerator<T> gen, int size) {
+    this(gen, size, false);
+  }
+  private static class Memoized<T> extends GeneratedList<T>
+  implements RandomAccess {
+    Memoized(SplittableGenerator<T> gen, int size) {
+      super(gen, size, true);
+    }
+  }
+  public static <T> GeneratedList<T>
+  memoized(SplittableGenerator<T> gen, int size) {
+    return new Memoized<T>(gen, size);
+  }
+  // Elements [c * CHUNK, c * CHUNK + CHUNK) of the list:
+  private Object[] chunk(int c) {
+    Object[] result = cache == null ? null : cache.get(c);
+    if(result == null) {
+      int start = c * CHUNK;
+      result = new Object[Math.min(CHUNK, size - start)];
+      Generator<T> g = gen.from(start);
+      for(int i = 0; i < result.length; i++)
+        result[i] = g.next();
+      // A racing thread generates the same values, so
+      // whichever copy is published first is kept:
+      if(cache != null && !cache.compareAndSet(c, null, result))
+        result = cache.get(c);
+    }
+    return result;
+  }
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index +
+        ", Size: " + size);
+    int c = index / CHUNK;
+    Object[] values;
+    if(cache != null)
+      values = chunk(c);
+    else {
+      // Reuse the last chunk, so a loop over get() costs
+      // one generation per chunk rather than per element:
+      Chunk recent = last;
+      if(recent != null && recent.number == c)
+        values = recent.values;
+      else
+        last = new Chunk(c, values = chunk(c));
+    }
+    return (T)values[index % CHUNK];
+  }
+  public int size() { return size; }
+  public boolean isMemoized() { return cache != null; }
+  // Without memoization, get() regenerates a chunk on
+  // every call, so traversal goes a chunk at a time:
+  public Iterator<T> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+  public Spliterator<T> spliterator() {
+    return new ChunkSpliterator(0, size);
+  }
+  private class ChunkSpliterator implements Spliterator<T> {
+    private int index;
+    private final int fence;
+    private Object[] current;
+    ChunkSpliterator(int origin, int fence) {
+      index = origin;
+      this.fence = fence;
+    }
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if(index >= fence)
+        return false;
+      if(current == null || index % CHUNK == 0)
+        current = chunk(index / CHUNK);
+      action.accept((T)current[index % CHUNK]);
+      index++;
+      return true;
+    }
+    // Split on a chunk boundary so no chunk is generated
+    // by both halves:
+    public Spliterator<T> trySplit() {
+      int lo = index / CHUNK + 1, hi = (fence - 1) / CHUNK;
+      if(lo > hi)
+        return null;
+      int mid = ((lo + hi + 1) >>> 1) * CHUNK;
+      Spliterator<T> prefix = new ChunkSpliterator(index, mid);
+      index = mid;
+      current = null;
+      return prefix;
+    }
+    public long estimateSize() { return fence - index; }
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+  }
+  public static void main(String[] args) {
+    final SplitRandom root = new SplitRandom(47);
+    SplittableGenerator<Integer> gen =
+      new SplittableGenerator<Integer>() {
+        public Generator<Integer> from(long index) {
+          return new RandomGenerator.Integer(
+            100, root.stream(index));
+        }
+      };
+    GeneratedList<Integer> list =
+      GeneratedList.memoized(gen, 100000);
+    System.out.println(list.subList(0, 10));
+    System.out.println(list.get(99999) + " " + list.get(99999));
+    long sequential = 0;
+    for(int i : list)
+      sequential += i;
+    System.out.println(sequential + " " + list.parallelStream()
+      .mapToLong(Integer::longValue).sum());
+  }
+} /* Output:
+[72, 27, 3, 32, 97, 83, 10, 45, 24, 16]
+94 94
+4940059 4940059
+*///:~
@@ -0,0 +1,129 @@
+//: net/mindview/util/GeneratedSequence.java
+// A lazy sequence of up to Long.MAX_VALUE generated
+// elements. Nothing is stored, so a parallel stream can
+// consume billions of elements in bounded memory.
+package net.mindview.util;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+public class GeneratedSequence<T> implements Iterable<T> {
+  private static final int CHUNK = SplittableGenerator.CHUNK;
+  private final SplittableGenerator<T> splittable;
+  private final Generator<T> gen;
+  private final long size;
+  // Splits on chunk boundaries and may be traversed
+  // any number of times:
+  public GeneratedSequence(SplittableGenerator<T> gen,
+      long size) {
+    splittable = gen;
+    this.gen = null;
+    this.size = size < 0 ? 0 : size;
+  }
+  // A plain Generator can only be consumed once, in
+  // order; parallel streams split it by copying batches:
+  public GeneratedSequence(Generator<T> gen, long size) {
+    splittable = null;
+    this.gen = gen;
+    this.size = size < 0 ? 0 : size;
+  }
+  public long size() { return size; }
+  public Iterator<T> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+  public Spliterator<T> spliterator() {
+    if(splittable != null)
+      return new ChunkSpliterator<T>(splittable, 0, size);
+    return new Spliterators.AbstractSpliterator<T>(
+        size, Spliterator.ORDERED | Spliterator.SIZED) {
+      private long remaining = size;
+      public boolean tryAdvance(Consumer<? super T> action) {
+        if(remaining <= 0)
+          return false;
+        remaining--;
+        action.accept(gen.next());
+        return true;
+      }
+    };
+  }
+  public Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+  public Stream<T> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+  private static class ChunkSpliterator<T>
+  implements Spliterator<T> {
+    private final SplittableGenerator<T> gen;
+    private long index;
+    private final long fence;
+    private Generator<T> current;
+    ChunkSpliterator(SplittableGenerator<T> gen,
+        long origin, long fence) {
+      this.gen = gen;
+      index = origin;
+      this.fence = fence;
+    }
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if(index >= fence)
+        return false;
+      if(current == null) {
+        // Start of the chunk that holds index:
+        long start = index - index % CHUNK;
+        current = gen.from(start);
+        for(long i = start; i < index; i++)
+          current.next();
+      } else if(index % CHUNK == 0)
+        current = gen.from(index);
+      action.accept(current.next());
+      index++;
+      return true;
+    }
+    public void forEachRemaining(Consumer<? super T> action) {
+      while(tryAdvance(action))
+        ;
+    }
+    public Spliterator<T> trySplit() {
+      long lo = index / CHUNK + 1, hi = (fence - 1) / CHUNK;
+      if(lo > hi)
+        return null;
+      long mid = ((lo + hi + 1) >>> 1) * CHUNK;
+      Spliterator<T> prefix =
+        new ChunkSpliterator<T>(gen, index, mid);
+      index = mid;
+      current = null;
+      return prefix;
+    }
+    public long estimateSize() { return fence - index; }
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+  }
+  public static void main(String[] args) {
+    final SplitRandom root = new SplitRandom(47);
+    SplittableGenerator<Integer> gen =
+      new SplittableGenerator<Integer>() {
+        public Generator<Integer> from(long index) {
+          return new RandomGenerator.Integer(
+            100, root.stream(index));
+        }
+      };
+    // The same elements as the GeneratedList example:
+    GeneratedSequence<Integer> seq =
+      new GeneratedSequence<Integer>(gen, 100000);
+    System.out.println(seq.stream().limit(10)
+      .collect(Collectors.toList()));
+    System.out.println(seq.parallelStream()
+      .mapToLong(Integer::longValue).sum());
+    // Only a chunk per thread is ever live:
+    System.out.println(new GeneratedSequence<Integer>(
+      gen, 50000000L).parallelStream().filter(
+        new Predicate<Integer>() {
+          public boolean test(Integer i) { return i == 0; }
+        }).count());
+  }
+} /* Output:
+[72, 27, 3, 32, 97, 83, 10, 45, 24, 16]
+4940059
+499458
+*///:~
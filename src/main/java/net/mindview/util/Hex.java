@@ -1,29 +1,159 @@
 //: net/mindview/util/Hex.java
 package net.mindview.util;
 import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
 
 public class Hex {
+  private static final char[] DIGITS =
+    "0123456789ABCDEF".toCharArray();
+  // Output is produced in chunks of this many lines:
+  static final int CHUNK_LINES = 512;
+  // Longest line: a 16-digit address, ": ", 16 bytes
+  // of "XX " and a newline:
+  private static final int MAX_LINE = 16 + 2 + 16 * 3 + 1;
   public static String format(byte[] data) {
-    StringBuilder result = new StringBuilder();
-    int n = 0;
-    for(byte b : data) {
-      if(n % 16 == 0)
-        result.append(String.format("%05X: ", n));
-      result.append(String.format("%02X ", b));
-      n++;
-      if(n % 16 == 0) result.append("\n");
+    return format(ByteBuffer.wrap(data));
+  }
+  // Format the remaining bytes, e.g. of a mapped file:
+  public static String format(ByteBuffer data) {
+    // In long, as a dump runs to about 3.5 times the
+    // size of the data; a StringBuilder can't be larger
+    // than an array anyway:
+    long lines = (data.remaining() + 15L) / 16;
+    StringBuilder result = new StringBuilder((int)Math.min(
+      lines * (7 + 48 + 1) + 64, BinaryFile.MAX_ARRAY));
+    try {
+      write(data, result);
+    } catch(IOException e) {
+      throw new RuntimeException(e); // Can't happen
     }
-    result.append("\n");
     return result.toString();
   }
+  // Stream the dump rather than building one String:
+  public static void
+  write(ByteBuffer data, Appendable out) throws IOException {
+    write(data, data.position(), data.remaining(), out);
+  }
+  // Bytes [offset, offset + length) of the buffer, with
+  // addresses counted from offset:
+  public static void write(ByteBuffer data, int offset,
+      int length, Appendable out) throws IOException {
+    dump(data, offset, length, offset, true, sink(out));
+  }
+  public static void write(ByteBuffer data, int offset,
+      int length, WritableByteChannel out) throws IOException {
+    dump(data, offset, length, offset, true, sink(out));
+  }
+  // A whole file of any size, one mapped segment at
+  // a time:
+  public static void
+  write(File file, WritableByteChannel out) throws IOException {
+    write(file, sink(out));
+  }
+  public static void
+  write(File file, Appendable out) throws IOException {
+    write(file, sink(out));
+  }
+  private static void
+  write(File file, Sink sink) throws IOException {
+    // A multiple of 16, so lines don't straddle segments:
+    MappedByteBuffer[] segments =
+      BinaryFile.map(file, 1 << 30);
+    long address = 0;
+    for(int i = 0; i < segments.length; i++) {
+      ByteBuffer segment = segments[i];
+      dump(segment, 0, segment.limit(), address,
+        i == segments.length - 1, sink);
+      address += segment.limit();
+    }
+  }
+  // Where finished chunks of output go:
+  private interface Sink {
+    void write(char[] buf, int length) throws IOException;
+  }
+  private static Sink sink(final Appendable out) {
+    if(out instanceof Writer)
+      return new Sink() {
+        public void write(char[] buf, int length)
+        throws IOException {
+          ((Writer)out).write(buf, 0, length);
+        }
+      };
+    if(out instanceof StringBuilder)
+      return new Sink() {
+        public void write(char[] buf, int length) {
+          ((StringBuilder)out).append(buf, 0, length);
+        }
+      };
+    return new Sink() {
+      public void write(char[] buf, int length)
+      throws IOException {
+        out.append(CharBuffer.wrap(buf, 0, length));
+      }
+    };
+  }
+  private static Sink sink(final WritableByteChannel out) {
+    return new Sink() {
+      private ByteBuffer bytes = ByteBuffer.allocate(
+        CHUNK_LINES * MAX_LINE + 1);
+      public void write(char[] buf, int length)
+      throws IOException {
+        bytes.clear();
+        for(int i = 0; i < length; i++)
+          bytes.put((byte)buf[i]); // All ASCII
+        bytes.flip();
+        while(bytes.hasRemaining())
+          out.write(bytes);
+      }
+    };
+  }
+  // The same layout as the original String.format()
+  // version, built from a lookup table:
+  private static void dump(ByteBuffer data, int offset,
+      int length, long address, boolean last, Sink sink)
+  throws IOException {
+    char[] buf = new char[CHUNK_LINES * MAX_LINE + 1];
+    int pos = 0;
+    for(int n = 0; n < length; n++) {
+      if(n % 16 == 0) {
+        if(buf.length - pos <= MAX_LINE) {
+          sink.write(buf, pos);
+          pos = 0;
+        }
+        pos = address(buf, pos, address + n);
+      }
+      int b = data.get(offset + n) & 0xFF;
+      buf[pos++] = DIGITS[b >>> 4];
+      buf[pos++] = DIGITS[b & 0xF];
+      buf[pos++] = ' ';
+      if(n % 16 == 15)
+        buf[pos++] = '\n';
+    }
+    if(last)
+      buf[pos++] = '\n';
+    sink.write(buf, pos);
+  }
+  // Like "%05X: ":
+  private static int address(char[] buf, int pos, long a) {
+    int digits = Math.max(5,
+      (64 - Long.numberOfLeadingZeros(a) + 3) / 4);
+    for(int shift = (digits - 1) * 4; shift >= 0; shift -= 4)
+      buf[pos++] = DIGITS[(int)(a >>> shift) & 0xF];
+    buf[pos++] = ':';
+    buf[pos++] = ' ';
+    return pos;
+  }
   public static void main(String[] args) throws Exception {
     if(args.length == 0)
       // Test by displaying this class file:
       System.out.println(
         format(BinaryFile.read("Hex.class")));
-    else
-      System.out.println(
-        format(BinaryFile.read(new File(args[0]))));
+    else { // Streamed, however large the file:
+      write(new File(args[0]),
+        Channels.newChannel(System.out));
+      System.out.println();
+    }
   }
 } /* Output: (Sample)
 00000: CA FE BA BE 00 00 00 31 00 52 0A 00 05 00 22 07
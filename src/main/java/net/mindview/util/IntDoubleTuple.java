@@ -0,0 +1,29 @@
+//: net/mindview/util/IntDoubleTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class IntDoubleTuple {
+  public final int first;
+  public final double second;
+  public IntDoubleTuple(int a, double b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Integer,Double> boxed() {
+    return new TwoTuple<Integer,Double>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof IntDoubleTuple))
+      return false;
+    IntDoubleTuple t = (IntDoubleTuple)o;
+    return first == t.first &&
+      Double.doubleToLongBits(second) ==
+      Double.doubleToLongBits(t.second);
+  }
+  public int hashCode() {
+    return 31 * first + Double.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
@@ -0,0 +1,4 @@
+//: net/mindview/util/IntGenerator.java
+// A Generator specialized for int, so no boxing occurs.
+package net.mindview.util;
+public interface IntGenerator { int nextInt(); } ///:~
@@ -0,0 +1,4 @@
+//: net/mindview/util/IntIntConsumer.java
+// A BiConsumer specialized for two ints, so no boxing occurs.
+package net.mindview.util;
+public interface IntIntConsumer { void accept(int a, int b); } ///:~
@@ -0,0 +1,223 @@
+//: net/mindview/util/IntIntHashMap.java
+// A hashed map from int to int, with nothing boxed.
+// Keys and values live in parallel arrays, found by
+// linear probing in a power-of-two table.
+package net.mindview.util;
+import java.util.*;
+
+public class IntIntHashMap {
+  static final int MIN_CAPACITY = 8, MAX_CAPACITY = 1 << 30;
+  private final float loadFactor;
+  // A 0 in keys[] marks an empty slot, so the key 0 is
+  // kept beside the table rather than reserved:
+  private int[] keys, values;
+  private boolean hasZeroKey;
+  private int zeroValue;
+  private int size; // Including any zero key
+  private int mask, threshold;
+  public IntIntHashMap() { this(MIN_CAPACITY); }
+  public IntIntHashMap(int expectedSize) {
+    this(expectedSize, 0.5f);
+  }
+  public IntIntHashMap(int expectedSize, float loadFactor) {
+    if(expectedSize < 0)
+      throw new IllegalArgumentException(
+        "Expected size: " + expectedSize);
+    if(!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException(
+        "Load factor: " + loadFactor);
+    this.loadFactor = loadFactor;
+    long needed =
+      (long)Math.ceil(expectedSize / loadFactor) + 1;
+    if(needed > MAX_CAPACITY)
+      throw new IllegalStateException(
+        expectedSize + " entries is too many");
+    allocate(Math.max(MIN_CAPACITY,
+      Integer.highestOneBit((int)needed - 1) << 1));
+  }
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    threshold = Math.min(capacity - 1,
+      (int)(capacity * loadFactor));
+  }
+  // Multiplying scatters keys that share their low bits,
+  // such as multiples of 4096, which would otherwise pile
+  // up in one long probe run:
+  private static int spread(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+  // The slot holding a nonzero key, or -1:
+  private int indexOf(int key) {
+    for(int i = spread(key) & mask, k; (k = keys[i]) != 0;
+        i = (i + 1) & mask)
+      if(k == key)
+        return i;
+    return -1;
+  }
+  public int size() { return size; }
+  public boolean isEmpty() { return size == 0; }
+  public boolean containsKey(int key) {
+    return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+  }
+  public int getOrDefault(int key, int defaultValue) {
+    if(key == 0)
+      return hasZeroKey ? zeroValue : defaultValue;
+    int i = indexOf(key);
+    return i < 0 ? defaultValue : values[i];
+  }
+  // 0 if key is absent, as an int[] would give:
+  public int get(int key) { return getOrDefault(key, 0); }
+  // Returns the previous value, or 0:
+  public int put(int key, int value) {
+    if(key == 0) {
+      int old = zeroValue;
+      if(!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      zeroValue = value;
+      return old;
+    }
+    int i = spread(key) & mask;
+    for(int k; (k = keys[i]) != 0; i = (i + 1) & mask)
+      if(k == key) {
+        int old = values[i];
+        values[i] = value;
+        return old;
+      }
+    insertAt(i, key, value);
+    return 0;
+  }
+  // Adds increment to key's value, counting an absent
+  // key as 0; returns the new value. One probe sequence
+  // rather than a get() and a put():
+  public int addTo(int key, int increment) {
+    if(key == 0) {
+      if(!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      return zeroValue += increment;
+    }
+    int i = spread(key) & mask;
+    for(int k; (k = keys[i]) != 0; i = (i + 1) & mask)
+      if(k == key)
+        return values[i] += increment;
+    insertAt(i, key, increment);
+    return increment;
+  }
+  private void insertAt(int i, int key, int value) {
+    keys[i] = key;
+    values[i] = value;
+    if(++size - (hasZeroKey ? 1 : 0) > threshold)
+      rehash();
+  }
+  private void rehash() {
+    if(keys.length == MAX_CAPACITY)
+      throw new IllegalStateException("Map is full");
+    int[] oldKeys = keys, oldValues = values;
+    allocate(keys.length * 2);
+    for(int j = 0; j < oldKeys.length; j++) {
+      int k = oldKeys[j];
+      if(k == 0)
+        continue;
+      int i = spread(k) & mask;
+      while(keys[i] != 0)
+        i = (i + 1) & mask;
+      keys[i] = k;
+      values[i] = oldValues[j];
+    }
+  }
+  // Returns the removed value, or 0:
+  public int remove(int key) {
+    if(key == 0) {
+      if(!hasZeroKey)
+        return 0;
+      hasZeroKey = false;
+      size--;
+      int old = zeroValue;
+      zeroValue = 0;
+      return old;
+    }
+    int i = indexOf(key);
+    if(i < 0)
+      return 0;
+    int old = values[i];
+    closeGap(i);
+    size--;
+    return old;
+  }
+  // Moves later keys in the probe run back into the
+  // emptied slot, so no "deleted" marker is needed. A key
+  // may move only if the gap lies between its home slot
+  // and where it sits now:
+  private void closeGap(int gap) {
+    for(int i = (gap + 1) & mask, k; (k = keys[i]) != 0;
+        i = (i + 1) & mask)
+      if(((i - (spread(k) & mask)) & mask) >=
+         ((i - gap) & mask)) {
+        keys[gap] = k;
+        values[gap] = values[i];
+        gap = i;
+      }
+    keys[gap] = 0;
+    values[gap] = 0;
+  }
+  public void clear() {
+    if(size == 0)
+      return;
+    Arrays.fill(keys, 0);
+    hasZeroKey = false;
+    zeroValue = 0;
+    size = 0;
+  }
+  // In table order. Don't change the map from action:
+  public void forEach(IntIntConsumer action) {
+    if(hasZeroKey)
+      action.accept(0, zeroValue);
+    for(int i = 0; i < keys.length; i++)
+      if(keys[i] != 0)
+        action.accept(keys[i], values[i]);
+  }
+  public String toString() {
+    final StringBuilder result = new StringBuilder("{");
+    forEach(new IntIntConsumer() {
+      public void accept(int key, int value) {
+        if(result.length() > 1)
+          result.append(", ");
+        result.append(key).append("=").append(value);
+      }
+    });
+    return result.append("}").toString();
+  }
+  public static void main(String[] args) {
+    // Counts how often each value turns up:
+    IntIntHashMap counts = new IntIntHashMap();
+    Random rand = new Random(47);
+    for(int i = 0; i < 10000; i++)
+      counts.addTo(rand.nextInt(20), 1);
+    System.out.println(counts);
+    System.out.println(counts.getOrDefault(25, -1));
+    counts.remove(0);
+    // 129 hashes to the slot 3 sits in, so it's probed
+    // past 3 and 1 into the next free slot. Removing 3
+    // moves 129 back into the gap, where a probe for it
+    // starts, and leaves 1 in its own home slot:
+    counts.put(129, 100);
+    System.out.println(counts);
+    counts.remove(3);
+    System.out.println(counts);
+    System.out.println(counts.containsKey(0) + " " +
+      counts.containsKey(3) + " " + counts.get(129) +
+      " " + counts.size());
+  }
+} /* Output:
+{0=481, 5=503, 7=471, 3=508, 1=502, 10=513, 11=531, 14=477, 15=497, 6=519, 2=489, 18=478, 19=464, 17=509, 16=533, 9=549, 8=468, 13=506, 12=521, 4=481}
+-1
+{5=503, 7=471, 3=508, 1=502, 129=100, 10=513, 11=531, 14=477, 15=497, 6=519, 2=489, 18=478, 19=464, 17=509, 16=533, 9=549, 8=468, 13=506, 12=521, 4=481}
+{5=503, 7=471, 129=100, 1=502, 10=513, 11=531, 14=477, 15=497, 6=519, 2=489, 18=478, 19=464, 17=509, 16=533, 9=549, 8=468, 13=506, 12=521, 4=481}
+false false 100 19
+*///:~
@@ -0,0 +1,28 @@
+//: net/mindview/util/IntIntTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class IntIntTuple {
+  public final int first;
+  public final int second;
+  public IntIntTuple(int a, int b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Integer,Integer> boxed() {
+    return new TwoTuple<Integer,Integer>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof IntIntTuple))
+      return false;
+    IntIntTuple t = (IntIntTuple)o;
+    return first == t.first &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * first + second;
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
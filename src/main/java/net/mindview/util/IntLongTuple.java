@@ -0,0 +1,28 @@
+//: net/mindview/util/IntLongTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class IntLongTuple {
+  public final int first;
+  public final long second;
+  public IntLongTuple(int a, long b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Integer,Long> boxed() {
+    return new TwoTuple<Integer,Long>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof IntLongTuple))
+      return false;
+    IntLongTuple t = (IntLongTuple)o;
+    return first == t.first &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * first + Long.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
@@ -0,0 +1,106 @@
+//: net/mindview/util/IntRange.java
+// A sequence [start..end) by step, produced on demand
+// rather than stored in an array.
+package net.mindview.util;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+public class IntRange implements Iterable<Integer> {
+  // Largest array the JVM will reliably allocate:
+  private static final int MAX_ARRAY = Integer.MAX_VALUE - 8;
+  private final int start, step;
+  private final long size;
+  public IntRange(int start, int end, int step) {
+    if(step == 0)
+      throw new IllegalArgumentException("step is 0");
+    this.start = start;
+    this.step = step;
+    // Whole steps only, as Range.range() counts them, so
+    // [0..10) by 3 is 0 3 6. Computed in long, since the
+    // distance between two ints can overflow an int:
+    long distance = (long)end - start;
+    size = (distance > 0) != (step > 0) ? 0 : distance / step;
+  }
+  public IntRange(int start, int end) { this(start, end, 1); }
+  public IntRange(int n) { this(0, n, 1); }
+  public long size() { return size; }
+  public boolean isEmpty() { return size == 0; }
+  public int get(long index) {
+    if(index < 0 || index >= size)
+      throw new IndexOutOfBoundsException(
+        "Index: " + index + ", Size: " + size);
+    return (int)(start + index * step);
+  }
+  // Boxes only if used through Iterator<Integer>:
+  public PrimitiveIterator.OfInt iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+  // Not a forEach() overload: a lambda would fit both it
+  // and forEach(Consumer), and fail as ambiguous:
+  public void forEachInt(IntConsumer action) {
+    spliterator().forEachRemaining(action);
+  }
+  public void forEach(Consumer<? super Integer> action) {
+    spliterator().forEachRemaining(action);
+  }
+  // Halves on each split, so parallel loops divide evenly:
+  public Spliterator.OfInt spliterator() {
+    return new RangeSpliterator(0, size);
+  }
+  public IntStream stream() {
+    return StreamSupport.intStream(spliterator(), false);
+  }
+  public IntStream parallelStream() {
+    return StreamSupport.intStream(spliterator(), true);
+  }
+  // For callers that really need the array:
+  public int[] toArray() {
+    if(size > MAX_ARRAY)
+      throw new IllegalStateException(
+        size + " values won't fit in an array");
+    int[] result = new int[(int)size];
+    for(int i = 0; i < result.length; i++)
+      result[i] = start + i * step;
+    return result;
+  }
+  public String toString() {
+    return "IntRange[" + start + ", size " + size +
+      ", step " + step + "]";
+  }
+  private class RangeSpliterator implements Spliterator.OfInt {
+    private long index;
+    private final long fence;
+    RangeSpliterator(long index, long fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+    public boolean tryAdvance(IntConsumer action) {
+      if(index >= fence)
+        return false;
+      action.accept((int)(start + index++ * step));
+      return true;
+    }
+    public void forEachRemaining(IntConsumer action) {
+      // int arithmetic wraps the same way long arithmetic
+      // truncated to int would:
+      int value = (int)(start + index * step);
+      for(long i = index; i < fence; i++, value += step)
+        action.accept(value);
+      index = fence;
+    }
+    public Spliterator.OfInt trySplit() {
+      long mid = (index + fence) >>> 1;
+      if(mid <= index)
+        return null;
+      Spliterator.OfInt prefix = new RangeSpliterator(index, mid);
+      index = mid;
+      return prefix;
+    }
+    public long estimateSize() { return fence - index; }
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | IMMUTABLE |
+        NONNULL | DISTINCT;
+    }
+  }
+} ///:~
@@ -0,0 +1,54 @@
+//: net/mindview/util/IntStack.java
+// A Stack of unboxed ints.
+package net.mindview.util;
+import java.util.*;
+import java.util.function.*;
+
+public class IntStack {
+  private int[] storage = new int[16];
+  private int size;
+  public void push(int v) {
+    if(size == storage.length)
+      storage = Arrays.copyOf(storage, size * 2);
+    storage[size++] = v;
+  }
+  public int peek() {
+    if(size == 0)
+      throw new NoSuchElementException();
+    return storage[size - 1];
+  }
+  public int pop() {
+    int v = peek();
+    size--;
+    return v;
+  }
+  public boolean empty() { return size == 0; }
+  public boolean isEmpty() { return size == 0; }
+  public int size() { return size; }
+  public void clear() { size = 0; }
+  // From the top down, the order pop() would produce:
+  public PrimitiveIterator.OfInt iterator() {
+    return new PrimitiveIterator.OfInt() {
+      private int index = size;
+      public boolean hasNext() { return index > 0; }
+      public int nextInt() {
+        if(index == 0)
+          throw new NoSuchElementException();
+        return storage[--index];
+      }
+    };
+  }
+  public void forEach(IntConsumer action) {
+    for(int i = size - 1; i >= 0; i--)
+      action.accept(storage[i]);
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int i = size - 1; i >= 0; i--) {
+      result.append(storage[i]);
+      if(i > 0)
+        result.append(", ");
+    }
+    return result.append("]").toString();
+  }
+} ///:~
@@ -0,0 +1,78 @@
+//: net/mindview/util/LongDeque.java
+// A Deque of unboxed longs in a circular array.
+package net.mindview.util;
+import java.util.*;
+import java.util.function.*;
+
+public class LongDeque {
+  // A power of two in length; see Deque:
+  private long[] deque = new long[16];
+  private int head, size;
+  public void addFirst(long e) {
+    grow();
+    head = (head - 1) & (deque.length - 1);
+    deque[head] = e;
+    size++;
+  }
+  public void addLast(long e) {
+    grow();
+    deque[(head + size) & (deque.length - 1)] = e;
+    size++;
+  }
+  public long getFirst() { return get(0); }
+  public long getLast() { return get(size - 1); }
+  public long removeFirst() {
+    long e = getFirst();
+    head = (head + 1) & (deque.length - 1);
+    size--;
+    return e;
+  }
+  public long removeLast() {
+    long e = getLast();
+    size--;
+    return e;
+  }
+  public int size() { return size; }
+  public boolean isEmpty() { return size == 0; }
+  public void clear() { head = size = 0; }
+  private long get(int i) {
+    if(size == 0)
+      throw new NoSuchElementException();
+    return deque[(head + i) & (deque.length - 1)];
+  }
+  private void grow() {
+    if(size < deque.length)
+      return;
+    long[] bigger = new long[deque.length * 2];
+    int toEnd = deque.length - head;
+    System.arraycopy(deque, head, bigger, 0, toEnd);
+    System.arraycopy(deque, 0, bigger, toEnd, head);
+    deque = bigger;
+    head = 0;
+  }
+  // From first to last:
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      private int index;
+      public boolean hasNext() { return index < size; }
+      public long nextLong() {
+        if(index >= size)
+          throw new NoSuchElementException();
+        return get(index++);
+      }
+    };
+  }
+  public void forEach(LongConsumer action) {
+    for(int i = 0; i < size; i++)
+      action.accept(get(i));
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int i = 0; i < size; i++) {
+      if(i > 0)
+        result.append(", ");
+      result.append(get(i));
+    }
+    return result.append("]").toString();
+  }
+} ///:~
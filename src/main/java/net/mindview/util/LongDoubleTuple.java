@@ -0,0 +1,29 @@
+//: net/mindview/util/LongDoubleTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class LongDoubleTuple {
+  public final long first;
+  public final double second;
+  public LongDoubleTuple(long a, double b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Long,Double> boxed() {
+    return new TwoTuple<Long,Double>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof LongDoubleTuple))
+      return false;
+    LongDoubleTuple t = (LongDoubleTuple)o;
+    return first == t.first &&
+      Double.doubleToLongBits(second) ==
+      Double.doubleToLongBits(t.second);
+  }
+  public int hashCode() {
+    return 31 * Long.hashCode(first) + Double.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
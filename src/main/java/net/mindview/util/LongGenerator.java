@@ -0,0 +1,4 @@
+//: net/mindview/util/LongGenerator.java
+// A Generator specialized for long, so no boxing occurs.
+package net.mindview.util;
+public interface LongGenerator { long nextLong(); } ///:~
@@ -0,0 +1,28 @@
+//: net/mindview/util/LongIntTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class LongIntTuple {
+  public final long first;
+  public final int second;
+  public LongIntTuple(long a, int b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Long,Integer> boxed() {
+    return new TwoTuple<Long,Integer>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof LongIntTuple))
+      return false;
+    LongIntTuple t = (LongIntTuple)o;
+    return first == t.first &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * Long.hashCode(first) + second;
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
@@ -0,0 +1,28 @@
+//: net/mindview/util/LongLongTuple.java
+// Generated by PrimitiveTuples; don't edit.
+package net.mindview.util;
+
+public class LongLongTuple {
+  public final long first;
+  public final long second;
+  public LongLongTuple(long a, long b) {
+    first = a;
+    second = b;
+  }
+  public TwoTuple<Long,Long> boxed() {
+    return new TwoTuple<Long,Long>(first, second);
+  }
+  public boolean equals(Object o) {
+    if(!(o instanceof LongLongTuple))
+      return false;
+    LongLongTuple t = (LongLongTuple)o;
+    return first == t.first &&
+      second == t.second;
+  }
+  public int hashCode() {
+    return 31 * Long.hashCode(first) + Long.hashCode(second);
+  }
+  public String toString() {
+    return "(" + first + ", " + second + ")";
+  }
+} ///:~
@@ -2,10 +2,12 @@
 // A Map filled with data using a generator object.
 package net.mindview.util;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class MapData<K,V> extends LinkedHashMap<K,V> {
   // A single Pair Generator:
   public MapData(Generator<Pair<K,V>> gen, int quantity) {
+    super(capacity(quantity));
     for(int i = 0; i < quantity; i++) {
       Pair<K,V> p = gen.next();
       put(p.key, p.value);
@@ -14,33 +16,65 @@ public class MapData<K,V> extends LinkedHashMap<K,V> {
   // Two separate Generators:
   public MapData(Generator<K> genK, Generator<V> genV,
       int quantity) {
+    super(capacity(quantity));
     for(int i = 0; i < quantity; i++) {
       put(genK.next(), genV.next());
     }
   }
   // A key Generator and a single value:
   public MapData(Generator<K> genK, V value, int quantity){
+    super(capacity(quantity));
     for(int i = 0; i < quantity; i++) {
       put(genK.next(), value);
     }
   }
   // An Iterable and a value Generator:
   public MapData(Iterable<K> genK, Generator<V> genV) {
+    super(capacity(genK));
     for(K key : genK) {
       put(key, genV.next());
     }
   }
   // An Iterable and a single value:
   public MapData(Iterable<K> genK, V value) {
+    super(capacity(genK));
     for(K key : genK) {
       put(key, value);
     }
   }
+  private MapData(int quantity) {
+    super(capacity(quantity));
+  }
+  // Room for quantity entries at the default load factor:
+  private static int capacity(int quantity) {
+    return quantity <= 0 ? 16 :
+      (int)Math.min(quantity * 4L / 3 + 1, 1 << 30);
+  }
+  private static int capacity(Iterable<?> keys) {
+    return keys instanceof Collection ?
+      capacity(((Collection<?>)keys).size()) : 16;
+  }
   // Generic convenience methods:
   public static <K,V> MapData<K,V>
   map(Generator<Pair<K,V>> gen, int quantity) {
     return new MapData<K,V>(gen, quantity);
   }
+  // Generate the Pairs in parallel chunks, then insert
+  // them in index order so iteration order is stable:
+  public static <K,V> MapData<K,V> parallelMap(
+      SplittableGenerator<Pair<K,V>> gen, int quantity,
+      ForkJoinPool pool) {
+    MapData<K,V> result = new MapData<K,V>(quantity);
+    for(Pair<K,V> p :
+        CollectionData.parallelList(gen, quantity, pool))
+      result.put(p.key, p.value);
+    return result;
+  }
+  public static <K,V> MapData<K,V> parallelMap(
+      SplittableGenerator<Pair<K,V>> gen, int quantity) {
+    return parallelMap(gen, quantity,
+      ForkJoinPool.commonPool());
+  }
   public static <K,V> MapData<K,V>
   map(Generator<K> genK, Generator<V> genV, int quantity) {
     return new MapData<K,V>(genK, genV, quantity);
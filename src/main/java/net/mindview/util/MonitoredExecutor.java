@@ -0,0 +1,13 @@
+//: net/mindview/util/MonitoredExecutor.java
+// An ExecutorService that reports how loaded it is.
+package net.mindview.util;
+import java.util.concurrent.*;
+
+public interface MonitoredExecutor extends ExecutorService {
+  // Tasks accepted but not yet running:
+  int queueDepth();
+  // Threads currently running tasks:
+  int activeThreads();
+  // Tasks turned away, or pushed back onto the caller:
+  long rejectedTasks();
+} ///:~
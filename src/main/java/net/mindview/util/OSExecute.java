@@ -3,26 +3,29 @@
 // and send the output to the console.
 package net.mindview.util;
 import java.io.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 public class OSExecute {
   public static void command(String command) {
     boolean err = false;
     try {
-      Process process =
-        new ProcessBuilder(command.split(" ")).start();
-      BufferedReader results = new BufferedReader(
-        new InputStreamReader(process.getInputStream()));
-      String s;
-      while((s = results.readLine())!= null)
-        System.out.println(s);
-      BufferedReader errors = new BufferedReader(
-        new InputStreamReader(process.getErrorStream()));
+      // Both streams are drained at once, so a command
+      // that fills its error pipe can't block us:
+      Result result = DEFAULT.run(command, 0, null,
+        new Consumer<String>() {
+          public void accept(String s) {
+            System.out.println(s);
+          }
+        },
+        new Consumer<String>() {
+          public void accept(String s) {
+            System.err.println(s);
+          }
+        });
       // Report errors and return nonzero value
       // to calling process if there are problems:
-      while((s = errors.readLine())!= null) {
-        System.err.println(s);
-        err = true;
-      }
+      err = result.errorLines > 0;
     } catch(Exception e) {
       // Compensate for Windows 2000, which throws an
       // exception for the default command line:
@@ -35,4 +38,140 @@ public class OSExecute {
       throw new OSExecuteException("Errors executing " +
         command);
   }
+  // What a finished command produced. Output sent to a
+  // handler is not also kept here:
+  public static class Result {
+    public final String command;
+    public final int exitValue;
+    public final String output, errors;
+    public final int errorLines;
+    Result(String command, int exitValue, String output,
+        String errors, int errorLines) {
+      this.command = command;
+      this.exitValue = exitValue;
+      this.output = output;
+      this.errors = errors;
+      this.errorLines = errorLines;
+    }
+    public String toString() {
+      return command + " exited with " + exitValue;
+    }
+  }
+  // Runs at most maxProcesses commands at a time; the
+  // rest wait their turn:
+  public static class Pool {
+    private final ExecutorService runners;
+    public Pool(int maxProcesses) {
+      runners = Executors.newFixedThreadPool(
+        maxProcesses, new DaemonThreadFactory());
+    }
+    // Completes with the Result, or exceptionally with a
+    // TimeoutException after the process is killed. A
+    // timeout of 0 waits forever. The handlers, which may
+    // be null, get each line as it arrives, stdout and
+    // stderr on different threads:
+    public CompletableFuture<Result> submit(
+        final String command, final long timeout,
+        final TimeUnit unit, final Consumer<String> out,
+        final Consumer<String> err) {
+      final CompletableFuture<Result> result =
+        new CompletableFuture<Result>();
+      runners.execute(new Runnable() {
+        public void run() {
+          try {
+            result.complete(
+              OSExecute.run(command, timeout, unit, out, err));
+          } catch(Throwable e) {
+            result.completeExceptionally(e);
+          }
+        }
+      });
+      return result;
+    }
+    public CompletableFuture<Result> submit(String command,
+        long timeout, TimeUnit unit) {
+      return submit(command, timeout, unit, null, null);
+    }
+    Result run(String command, long timeout, TimeUnit unit,
+        Consumer<String> out, Consumer<String> err)
+    throws Exception {
+      try {
+        return submit(command, timeout, unit, out, err).get();
+      } catch(ExecutionException e) {
+        Throwable cause = e.getCause();
+        throw cause instanceof Exception ?
+          (Exception)cause : new RuntimeException(cause);
+      }
+    }
+    public void shutdown() { runners.shutdown(); }
+  }
+  private static final Pool DEFAULT =
+    new Pool(Runtime.getRuntime().availableProcessors());
+  public static CompletableFuture<Result>
+  commandAsync(String command, long timeout, TimeUnit unit,
+      Consumer<String> out, Consumer<String> err) {
+    return DEFAULT.submit(command, timeout, unit, out, err);
+  }
+  public static CompletableFuture<Result>
+  commandAsync(String command, long timeout, TimeUnit unit) {
+    return DEFAULT.submit(command, timeout, unit);
+  }
+  // Reads the output streams while the process runs:
+  private static final ExecutorService drainers =
+    new DaemonThreadPoolExecutor();
+  private static Result run(String command, long timeout,
+      TimeUnit unit, Consumer<String> out,
+      Consumer<String> err) throws Exception {
+    Process process =
+      new ProcessBuilder(command.split(" ")).start();
+    process.getOutputStream().close(); // No input
+    try {
+      Future<Drained> output =
+        drain(process.getInputStream(), out);
+      Future<Drained> errors =
+        drain(process.getErrorStream(), err);
+      if(timeout > 0 && !process.waitFor(timeout, unit)) {
+        process.destroyForcibly();
+        throw new TimeoutException(command +
+          " killed after " + timeout + " " + unit);
+      }
+      int exitValue = process.waitFor();
+      Drained e = errors.get();
+      return new Result(command, exitValue,
+        output.get().text, e.text, e.lines);
+    } finally {
+      // Still running if we timed out or were interrupted:
+      if(process.isAlive())
+        process.destroyForcibly();
+    }
+  }
+  private static class Drained {
+    String text;
+    int lines;
+  }
+  private static Future<Drained>
+  drain(final InputStream in, final Consumer<String> handler) {
+    return drainers.submit(new Callable<Drained>() {
+      public Drained call() throws IOException {
+        Drained result = new Drained();
+        StringBuilder text = new StringBuilder();
+        BufferedReader reader = new BufferedReader(
+          new InputStreamReader(in));
+        try {
+          String s;
+          while((s = reader.readLine()) != null) {
+            result.lines++;
+            if(handler != null)
+              handler.accept(s);
+            else
+              text.append(s).append('\n');
+          }
+        } finally {
+          reader.close();
+        }
+        result.text = text.toString();
+        return result;
+      }
+    });
+  }
 } ///:~
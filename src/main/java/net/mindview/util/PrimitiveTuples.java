@@ -0,0 +1,88 @@
+//: net/mindview/util/PrimitiveTuples.java
+// Writes the primitive TwoTuple specializations, such as
+// IntDoubleTuple. Run from this directory to regenerate:
+// {Args: .}
+package net.mindview.util;
+import java.io.*;
+
+public class PrimitiveTuples {
+  static final String[] TYPES = { "int", "long", "double" };
+  static String capitalized(String type) {
+    return Character.toUpperCase(type.charAt(0)) +
+      type.substring(1);
+  }
+  static String boxed(String type) {
+    return type.equals("int") ? "Integer" : capitalized(type);
+  }
+  // Bits for hashCode(), as the wrapper classes do it:
+  static String hash(String type, String field) {
+    if(type.equals("int"))
+      return field;
+    if(type.equals("long"))
+      return "Long.hashCode(" + field + ")";
+    return "Double.hashCode(" + field + ")";
+  }
+  // Compares doubles as Double.equals() does, so NaN
+  // equals itself and the tuple works as a key:
+  static String same(String type, String field) {
+    if(type.equals("double"))
+      return "Double.doubleToLongBits(" + field + ") ==\n" +
+        "      Double.doubleToLongBits(t." + field + ")";
+    return field + " == t." + field;
+  }
+  static String source(String a, String b) {
+    String name = capitalized(a) + capitalized(b) + "Tuple";
+    String boxedType =
+      "TwoTuple<" + boxed(a) + "," + boxed(b) + ">";
+    return
+      "//: net/mindview/util/" + name + ".java\n" +
+      "// Generated by PrimitiveTuples; don't edit.\n" +
+      "package net.mindview.util;\n" +
+      "\n" +
+      "public class " + name + " {\n" +
+      "  public final " + a + " first;\n" +
+      "  public final " + b + " second;\n" +
+      "  public " + name + "(" + a + " a, " + b + " b) {\n" +
+      "    first = a;\n" +
+      "    second = b;\n" +
+      "  }\n" +
+      "  public " + boxedType + " boxed() {\n" +
+      "    return new " + boxedType + "(first, second);\n" +
+      "  }\n" +
+      "  public boolean equals(Object o) {\n" +
+      "    if(!(o instanceof " + name + "))\n" +
+      "      return false;\n" +
+      "    " + name + " t = (" + name + ")o;\n" +
+      "    return " + same(a, "first") + " &&\n" +
+      "      " + same(b, "second") + ";\n" +
+      "  }\n" +
+      "  public int hashCode() {\n" +
+      "    return 31 * " + hash(a, "first") + " + " +
+        hash(b, "second") + ";\n" +
+      "  }\n" +
+      "  public String toString() {\n" +
+      "    return \"(\" + first + \", \" + second + \")\";\n" +
+      "  }\n" +
+      "} ///:~\n";
+  }
+  public static void main(String[] args) {
+    String dir = args.length > 0 ? args[0] : ".";
+    for(String a : TYPES)
+      for(String b : TYPES) {
+        String name = capitalized(a) + capitalized(b) + "Tuple";
+        TextFile.write(new File(dir, name + ".java").getPath(),
+          source(a, b));
+        System.out.println(name);
+      }
+  }
+} /* Output:
+IntIntTuple
+IntLongTuple
+IntDoubleTuple
+LongIntTuple
+LongLongTuple
+LongDoubleTuple
+DoubleIntTuple
+DoubleLongTuple
+DoubleDoubleTuple
+*///:~
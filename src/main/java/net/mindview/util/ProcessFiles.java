@@ -1,17 +1,85 @@
 //: net/mindview/util/ProcessFiles.java
 package net.mindview.util;
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
 
 public class ProcessFiles {
   public interface Strategy {
     void process(File file);
   }
+  // The outcome of processing one file:
+  public static class Result {
+    public final File file;
+    public final long nanos;
+    public final Exception error; // null if it succeeded
+    Result(File file, long nanos, Exception error) {
+      this.file = file;
+      this.nanos = nanos;
+      this.error = error;
+    }
+    public String toString() {
+      return file + ": " + nanos / 1000 + " us" +
+        (error == null ? "" : " (" + error + ")");
+    }
+  }
+  // Receives each Result, always on the calling thread:
+  public interface Reporter {
+    void report(Result result);
+  }
+  // Totals over every file processed so far:
+  public static class Summary {
+    private int files;
+    private long totalNanos;
+    private Result slowest;
+    private List<Result> failures = new ArrayList<Result>();
+    void add(Result r) {
+      files++;
+      totalNanos += r.nanos;
+      if(slowest == null || r.nanos > slowest.nanos)
+        slowest = r;
+      if(r.error != null)
+        failures.add(r);
+    }
+    public int files() { return files; }
+    public long totalNanos() { return totalNanos; }
+    public Result slowest() { return slowest; }
+    public List<Result> failures() {
+      return Collections.unmodifiableList(failures);
+    }
+    public String toString() {
+      return files + " files, " + failures.size() +
+        " failed, " + totalNanos / 1000000 + " ms total" +
+        (slowest == null ? "" : ", slowest " + slowest);
+    }
+  }
   private Strategy strategy;
   private String ext;
+  private int threads; // 0 means process serially
+  private boolean ordered;
+  private Reporter reporter;
+  private Summary summary = new Summary();
   public ProcessFiles(Strategy strategy, String ext) {
     this.strategy = strategy;
     this.ext = ext;
   }
+  // Process files on a pool of threads while the tree is
+  // still being walked. At most 4 * threads files are in
+  // flight, so a huge tree is never held in memory. If
+  // ordered, results are reported in walk order;
+  // otherwise as they complete:
+  public ProcessFiles(Strategy strategy, String ext,
+      int threads, boolean ordered, Reporter reporter) {
+    this(strategy, ext);
+    if(threads < 1)
+      throw new IllegalArgumentException(
+        "threads must be positive: " + threads);
+    this.threads = threads;
+    this.ordered = ordered;
+    this.reporter = reporter;
+  }
+  public Summary summary() { return summary; }
   public void start(String[] args) {
     try {
       if(args.length == 0)
@@ -25,8 +93,11 @@ public class ProcessFiles {
             // Allow user to leave off extension:
             if(!arg.endsWith("." + ext))
               arg += "." + ext;
-            strategy.process(
-              new File(arg).getCanonicalFile());
+            File file = new File(arg).getCanonicalFile();
+            if(threads == 0)
+              strategy.process(file);
+            else
+              report(timed(file));
           }
         }
     } catch(IOException e) {
@@ -35,9 +106,75 @@ public class ProcessFiles {
   }
   public void
   processDirectoryTree(File root) throws IOException {
-    for(File file : Directory.walk(
-        root.getAbsolutePath(), ".*\\." + ext))
-      strategy.process(file.getCanonicalFile());
+    // Canonicalize the root once; the walk extends
+    // its path, rather than resolving every file:
+    root = root.getCanonicalFile();
+    if(threads == 0) {
+      for(File file : Directory.walk(root, ".*\\." + ext))
+        strategy.process(file);
+      return;
+    }
+    // Skips unreadable directories, as walk() does:
+    Stream<File> files = Directory.stream(root, ".*\\." + ext);
+    ExecutorService exec = Executors.newFixedThreadPool(
+      threads, new DaemonThreadFactory());
+    try {
+      CompletionService<Result> done =
+        new ExecutorCompletionService<Result>(exec);
+      // Submission order, for ordered reporting:
+      Queue<Future<Result>> pending =
+        new ArrayDeque<Future<Result>>();
+      int inFlight = 0;
+      Iterator<File> it = files.iterator();
+      while(it.hasNext()) {
+        final File file = it.next();
+        Callable<Result> task = new Callable<Result>() {
+          public Result call() { return timed(file); }
+        };
+        if(ordered)
+          pending.add(exec.submit(task));
+        else
+          done.submit(task);
+        // Let the walk get only so far ahead:
+        if(++inFlight >= 4 * threads) {
+          report(next(done, pending));
+          inFlight--;
+        }
+      }
+      for(; inFlight > 0; inFlight--)
+        report(next(done, pending));
+    } finally {
+      files.close();
+      exec.shutdownNow();
+    }
+  }
+  private Result timed(File file) {
+    long start = System.nanoTime();
+    Exception error = null;
+    try {
+      strategy.process(file);
+    } catch(Exception e) {
+      error = e; // Errors aren't per-file failures
+    }
+    return new Result(file, System.nanoTime() - start, error);
+  }
+  private Result next(CompletionService<Result> done,
+      Queue<Future<Result>> pending) {
+    try {
+      return (ordered ? pending.remove() : done.take()).get();
+    } catch(InterruptedException e) {
+      throw new RuntimeException(e);
+    } catch(ExecutionException e) {
+      // Only an Error escapes timed(); pass it on as is:
+      if(e.getCause() instanceof Error)
+        throw (Error)e.getCause();
+      throw new RuntimeException(e.getCause());
+    }
+  }
+  private void report(Result r) {
+    summary.add(r);
+    if(reporter != null)
+      reporter.report(r);
   }
   // Demonstration of how to use it:
   public static void main(String[] args) {
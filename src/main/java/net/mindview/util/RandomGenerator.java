@@ -4,24 +4,40 @@ package net.mindview.util;
 import java.util.*;
 
 public class RandomGenerator {
+  // The shared default source. For parallel or
+  // reproducible runs, pass each generator its own
+  // source, e.g. new SplitRandom(47).stream(threadIndex):
   private static Random r = new Random(47);
   public static class
   Boolean implements Generator<java.lang.Boolean> {
+    private Random rand = r;
+    public Boolean() {}
+    public Boolean(Random source) { rand = source; }
     public java.lang.Boolean next() {
-      return r.nextBoolean();
+      return rand.nextBoolean();
     }
   }
+  // The numeric and char generators also implement a
+  // primitive interface, drawing from the same Random:
   public static class
-  Byte implements Generator<java.lang.Byte> {
-    public java.lang.Byte next() {
-      return (byte)r.nextInt();
-    }
+  Byte implements Generator<java.lang.Byte>, IntGenerator {
+    private Random rand = r;
+    public Byte() {}
+    public Byte(Random source) { rand = source; }
+    public int nextInt() { return (byte)rand.nextInt(); }
+    public java.lang.Byte next() { return (byte)nextInt(); }
   }
-  public static class
-  Character implements Generator<java.lang.Character> {
-    public java.lang.Character next() {
+  public static class Character
+  implements Generator<java.lang.Character>, IntGenerator {
+    private Random rand = r;
+    public Character() {}
+    public Character(Random source) { rand = source; }
+    public int nextInt() {
       return CountingGenerator.chars[
-        r.nextInt(CountingGenerator.chars.length)];
+        rand.nextInt(CountingGenerator.chars.length)];
+    }
+    public java.lang.Character next() {
+      return (char)nextInt();
     }
   }
   public static class
@@ -30,44 +46,68 @@ public class RandomGenerator {
     { cg = new Character(); } // Instance initializer
     public String() {}
     public String(int length) { super(length); }
-  }
-  public static class
-  Short implements Generator<java.lang.Short> {
-    public java.lang.Short next() {
-      return (short)r.nextInt();
+    public String(int length, Random source) {
+      super(length);
+      cg = new Character(source);
     }
   }
   public static class
-  Integer implements Generator<java.lang.Integer> {
+  Short implements Generator<java.lang.Short>, IntGenerator {
+    private Random rand = r;
+    public Short() {}
+    public Short(Random source) { rand = source; }
+    public int nextInt() { return (short)rand.nextInt(); }
+    public java.lang.Short next() { return (short)nextInt(); }
+  }
+  public static class Integer
+  implements Generator<java.lang.Integer>, IntGenerator {
+    private Random rand = r;
     private int mod = 10000;
     public Integer() {}
     public Integer(int modulo) { mod = modulo; }
-    public java.lang.Integer next() {
-      return r.nextInt(mod);
+    public Integer(int modulo, Random source) {
+      mod = modulo;
+      rand = source;
     }
+    public int nextInt() { return rand.nextInt(mod); }
+    public java.lang.Integer next() { return nextInt(); }
   }
   public static class
-  Long implements Generator<java.lang.Long> {
+  Long implements Generator<java.lang.Long>, LongGenerator {
+    private Random rand = r;
     private int mod = 10000;
     public Long() {}
     public Long(int modulo) { mod = modulo; }
-    public java.lang.Long next() {
-      return new java.lang.Long(r.nextInt(mod));
+    public Long(int modulo, Random source) {
+      mod = modulo;
+      rand = source;
     }
+    public long nextLong() { return rand.nextInt(mod); }
+    public java.lang.Long next() { return nextLong(); }
   }
-  public static class
-  Float implements Generator<java.lang.Float> {
-    public java.lang.Float next() {
+  public static class Float
+  implements Generator<java.lang.Float>, DoubleGenerator {
+    private Random rand = r;
+    public Float() {}
+    public Float(Random source) { rand = source; }
+    public double nextDouble() {
       // Trim all but the first two decimal places:
-      int trimmed = Math.round(r.nextFloat() * 100);
+      int trimmed = Math.round(rand.nextFloat() * 100);
       return ((float)trimmed) / 100;
     }
+    public java.lang.Float next() {
+      return (float)nextDouble();
+    }
   }
-  public static class
-  Double implements Generator<java.lang.Double> {
-    public java.lang.Double next() {
-      long trimmed = Math.round(r.nextDouble() * 100);
+  public static class Double
+  implements Generator<java.lang.Double>, DoubleGenerator {
+    private Random rand = r;
+    public Double() {}
+    public Double(Random source) { rand = source; }
+    public double nextDouble() {
+      long trimmed = Math.round(rand.nextDouble() * 100);
       return ((double)trimmed) / 100;
     }
+    public java.lang.Double next() { return nextDouble(); }
   }
 } ///:~
@@ -4,6 +4,8 @@
 package net.mindview.util;
 
 public class Range {
+  // The array versions allocate every value up front. For
+  // loops, prefer the lazy ints() versions below.
   // Produce a sequence [0..n)
   public static int[] range(int n) {
     int[] result = new int[n];
@@ -27,4 +29,16 @@ public class Range {
       result[i] = start + (i * step);
     return result;
   }
+  // The same sequences, produced as they're used. for(int
+  // i : ints(n)) unboxes each value; to avoid boxing
+  // entirely, use forEachInt() or iterator():
+  public static IntRange ints(int n) {
+    return new IntRange(n);
+  }
+  public static IntRange ints(int start, int end) {
+    return new IntRange(start, end);
+  }
+  public static IntRange ints(int start, int end, int step) {
+    return new IntRange(start, end, step);
+  }
 } ///:~
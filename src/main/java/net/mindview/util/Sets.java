@@ -4,25 +4,282 @@ import java.util.*;
 
 public class Sets {
   public static <T> Set<T> union(Set<T> a, Set<T> b) {
-    Set<T> result = new HashSet<T>(a);
+    Set<T> result = copy(a, b);
     result.addAll(b);
     return result;
   }
   public static <T>
   Set<T> intersection(Set<T> a, Set<T> b) {
-    Set<T> result = new HashSet<T>(a);
-    result.retainAll(b);
+    if(isEnumSets(a, b)) {
+      Set<T> result = copy(a, b);
+      result.retainAll(b); // A bitwise and
+      return result;
+    }
+    // Probe the larger set with the smaller. The result
+    // is sized from a, as new HashSet<T>(a) was, so it
+    // has the same buckets as before:
+    Set<T> small = a.size() <= b.size() ? a : b;
+    Set<T> large = small == a ? b : a;
+    Set<T> result = new HashSet<T>(capacity(a.size()));
+    for(T t : small)
+      if(large.contains(t))
+        result.add(t);
     return result;
-  }	
+  }
   // Subtract subset from superset:
   public static <T> Set<T>
   difference(Set<T> superset, Set<T> subset) {
-    Set<T> result = new HashSet<T>(superset);
-    result.removeAll(subset);
+    if(isEnumSets(superset, subset)) {
+      Set<T> result = copy(superset, subset);
+      result.removeAll(subset); // And-not
+      return result;
+    }
+    // Copy only what survives, rather than copying
+    // everything and then removing:
+    Set<T> result = new HashSet<T>(capacity(superset.size()));
+    for(T t : superset)
+      if(!subset.contains(t))
+        result.add(t);
     return result;
   }
   // Reflexive--everything not in the intersection:
   public static <T> Set<T> complement(Set<T> a, Set<T> b) {
-    return difference(union(a, b), intersection(a, b));
+    if(isEnumSets(a, b)) {
+      Set<T> result = copy(a, b);
+      result.addAll(b);
+      result.removeAll(intersection(a, b));
+      return result;
+    }
+    // One pass over each, with no intermediate sets:
+    Set<T> result =
+      new HashSet<T>(capacity(a.size() + b.size()));
+    for(T t : a)
+      if(!b.contains(t))
+        result.add(t);
+    for(T t : b)
+      if(!a.contains(t))
+        result.add(t);
+    return result;
+  }
+  // EnumSets combine as bit vectors, so the result stays
+  // one when both operands are:
+  private static boolean isEnumSets(Set<?> a, Set<?> b) {
+    return a instanceof EnumSet && b instanceof EnumSet;
+  }
+  @SuppressWarnings({"unchecked","rawtypes"})
+  private static <T> Set<T> copy(Set<T> a, Set<T> b) {
+    if(isEnumSets(a, b))
+      return (Set<T>)((EnumSet)a).clone();
+    return new HashSet<T>(a);
+  }
+  // The capacity HashSet(Collection) would choose:
+  private static int capacity(int size) {
+    return Math.max((int)(size / .75f) + 1, 16);
+  }
+  // Lazy views: nothing is copied, and each view follows
+  // later changes to a and b. They are read-only, and
+  // size() iterates, so use new HashSet<T>(view) to
+  // materialize one that's used repeatedly:
+  public static <T>
+  Set<T> unionView(final Set<T> a, final Set<T> b) {
+    return new AbstractSet<T>() {
+      public boolean contains(Object o) {
+        return a.contains(o) || b.contains(o);
+      }
+      public Iterator<T> iterator() {
+        return new Filtered<T>(a.iterator(), null, false,
+          new Filtered<T>(b.iterator(), a, false, null));
+      }
+      public int size() {
+        return a.size() +
+          count(new Filtered<T>(b.iterator(), a, false, null));
+      }
+    };
+  }
+  public static <T>
+  Set<T> intersectionView(final Set<T> a, final Set<T> b) {
+    return new AbstractSet<T>() {
+      public boolean contains(Object o) {
+        return a.contains(o) && b.contains(o);
+      }
+      public Iterator<T> iterator() {
+        // Decided per iteration, as the sizes may change:
+        Set<T> small = a.size() <= b.size() ? a : b;
+        Set<T> large = small == a ? b : a;
+        return new Filtered<T>(
+          small.iterator(), large, true, null);
+      }
+      public int size() { return count(iterator()); }
+    };
+  }
+  public static <T> Set<T>
+  differenceView(final Set<T> superset, final Set<T> subset) {
+    return new AbstractSet<T>() {
+      public boolean contains(Object o) {
+        return superset.contains(o) && !subset.contains(o);
+      }
+      public Iterator<T> iterator() {
+        return new Filtered<T>(
+          superset.iterator(), subset, false, null);
+      }
+      public int size() { return count(iterator()); }
+    };
+  }
+  public static <T>
+  Set<T> complementView(final Set<T> a, final Set<T> b) {
+    return new AbstractSet<T>() {
+      public boolean contains(Object o) {
+        return a.contains(o) != b.contains(o);
+      }
+      public Iterator<T> iterator() {
+        return new Filtered<T>(a.iterator(), b, false,
+          new Filtered<T>(b.iterator(), a, false, null));
+      }
+      public int size() { return count(iterator()); }
+    };
+  }
+  // Produces the elements of it for which
+  // other.contains() == keepIfIn (all of them if other
+  // is null), then those of next:
+  private static class Filtered<T> implements Iterator<T> {
+    private final Iterator<T> it;
+    private final Set<?> other;
+    private final boolean keepIfIn;
+    private final Iterator<T> next;
+    private T lookahead;
+    private boolean ready;
+    Filtered(Iterator<T> it, Set<?> other,
+        boolean keepIfIn, Iterator<T> next) {
+      this.it = it;
+      this.other = other;
+      this.keepIfIn = keepIfIn;
+      this.next = next;
+    }
+    public boolean hasNext() {
+      while(!ready && it.hasNext()) {
+        T t = it.next();
+        if(other == null || other.contains(t) == keepIfIn) {
+          lookahead = t;
+          ready = true;
+        }
+      }
+      return ready || (next != null && next.hasNext());
+    }
+    public T next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      if(!ready)
+        return next.next();
+      T t = lookahead;
+      lookahead = null;
+      ready = false;
+      return t;
+    }
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+  private static int count(Iterator<?> it) {
+    int n = 0;
+    for(; it.hasNext(); it.next())
+      n++;
+    return n;
+  }
+  // Sets of ints as sorted arrays without duplicates, e.g.
+  // ids. Each is a single linear merge with no boxing:
+  public static int[] union(int[] a, int[] b) {
+    int[] result = new int[a.length + b.length];
+    int i = 0, j = 0, n = 0;
+    while(i < a.length && j < b.length) {
+      if(a[i] < b[j])
+        result[n++] = a[i++];
+      else if(a[i] > b[j])
+        result[n++] = b[j++];
+      else {
+        result[n++] = a[i++];
+        j++;
+      }
+    }
+    while(i < a.length)
+      result[n++] = a[i++];
+    while(j < b.length)
+      result[n++] = b[j++];
+    return trim(result, n);
+  }
+  public static int[] intersection(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int i = 0, j = 0, n = 0;
+    while(i < a.length && j < b.length) {
+      if(a[i] < b[j])
+        i++;
+      else if(a[i] > b[j])
+        j++;
+      else {
+        result[n++] = a[i++];
+        j++;
+      }
+    }
+    return trim(result, n);
+  }
+  public static int[] difference(int[] superset, int[] subset) {
+    int[] result = new int[superset.length];
+    int i = 0, j = 0, n = 0;
+    while(i < superset.length && j < subset.length) {
+      if(superset[i] < subset[j])
+        result[n++] = superset[i++];
+      else if(superset[i] > subset[j])
+        j++;
+      else {
+        i++;
+        j++;
+      }
+    }
+    while(i < superset.length)
+      result[n++] = superset[i++];
+    return trim(result, n);
+  }
+  public static int[] complement(int[] a, int[] b) {
+    int[] result = new int[a.length + b.length];
+    int i = 0, j = 0, n = 0;
+    while(i < a.length && j < b.length) {
+      if(a[i] < b[j])
+        result[n++] = a[i++];
+      else if(a[i] > b[j])
+        result[n++] = b[j++];
+      else {
+        i++;
+        j++;
+      }
+    }
+    while(i < a.length)
+      result[n++] = a[i++];
+    while(j < b.length)
+      result[n++] = b[j++];
+    return trim(result, n);
+  }
+  private static int[] trim(int[] a, int n) {
+    return n == a.length ? a : Arrays.copyOf(a, n);
+  }
+  // Dense sets of small ints, a word at a time:
+  public static BitSet union(BitSet a, BitSet b) {
+    BitSet result = (BitSet)a.clone();
+    result.or(b);
+    return result;
+  }
+  public static BitSet intersection(BitSet a, BitSet b) {
+    BitSet result = (BitSet)a.clone();
+    result.and(b);
+    return result;
+  }
+  public static BitSet
+  difference(BitSet superset, BitSet subset) {
+    BitSet result = (BitSet)superset.clone();
+    result.andNot(subset);
+    return result;
+  }
+  public static BitSet complement(BitSet a, BitSet b) {
+    BitSet result = (BitSet)a.clone();
+    result.xor(b);
+    return result;
   }
 } ///:~
@@ -0,0 +1,70 @@
+//: net/mindview/util/SplitRandom.java
+// A seedable, splittable Random. Each generator or
+// thread gets its own instance, so there is no shared
+// seed to contend on, and every stream is derived
+// deterministically from a root seed.
+package net.mindview.util;
+import java.util.*;
+
+public class SplitRandom extends Random {
+  // Not thread-safe: give each thread its own instance.
+  private SplittableRandom rand;
+  private final long seed;
+  public SplitRandom(long seed) {
+    this(seed, new SplittableRandom(seed));
+  }
+  private SplitRandom(long seed, SplittableRandom rand) {
+    super(seed); // Avoids Random's shared seed uniquifier
+    this.seed = seed;
+    this.rand = rand;
+  }
+  // A new independent stream; the result depends on how
+  // many values this instance has produced so far:
+  public SplitRandom split() {
+    SplittableRandom child = rand.split();
+    return new SplitRandom(child.nextLong(), child);
+  }
+  // The index-th stream of this root seed. Unlike split(),
+  // the result depends only on the seed and the index,
+  // so parallel work can be reproduced in any order:
+  public SplitRandom stream(long index) {
+    return new SplitRandom(mix(seed + index * GOLDEN));
+  }
+  public long getSeed() { return seed; }
+  private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+  // Stafford's variant 13 of the MurmurHash3 finalizer:
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+  // Random's constructor calls this before rand exists:
+  public void setSeed(long seed) {
+    if(rand != null)
+      throw new UnsupportedOperationException(
+        "SplitRandom cannot be reseeded");
+  }
+  protected int next(int bits) {
+    return (int)(rand.nextLong() >>> (64 - bits));
+  }
+  public int nextInt() { return rand.nextInt(); }
+  public int nextInt(int bound) { return rand.nextInt(bound); }
+  public long nextLong() { return rand.nextLong(); }
+  public double nextDouble() { return rand.nextDouble(); }
+  public boolean nextBoolean() { return rand.nextBoolean(); }
+  public static void main(String[] args) {
+    SplitRandom root = new SplitRandom(47);
+    for(int i = 0; i < 3; i++) {
+      SplitRandom s = root.stream(i);
+      System.out.println(i + ": " + s.nextInt(100) + " " +
+        s.nextInt(100) + " " + s.nextInt(100));
+    }
+    // The same index always gives the same stream:
+    System.out.println("0: " + root.stream(0).nextInt(100));
+  }
+} /* Output:
+0: 72 27 3
+1: 80 39 38
+2: 71 94 35
+0: 72
+*///:~
@@ -0,0 +1,11 @@
+//: net/mindview/util/SplittableGenerator.java
+// Produces a Generator for the elements starting at a
+// given index, so a range can be generated in pieces, in
+// any order, with the same result every time. Pieces
+// always start at a multiple of CHUNK, so a generator
+// only has to be consistent within its own chunk.
+package net.mindview.util;
+public interface SplittableGenerator<T> {
+  int CHUNK = 8192;
+  Generator<T> from(long index);
+} ///:~
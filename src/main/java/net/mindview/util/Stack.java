@@ -1,13 +1,59 @@
 //: net/mindview/util/Stack.java
-// Making a stack from a LinkedList.
+// A stack held in a growable array.
 package net.mindview.util;
-import java.util.LinkedList;
+import java.util.*;
 
-public class Stack<T> {
-  private LinkedList<T> storage = new LinkedList<T>();
-  public void push(T v) { storage.addFirst(v); }
-  public T peek() { return storage.getFirst(); }
-  public T pop() { return storage.removeFirst(); }
-  public boolean empty() { return storage.isEmpty(); }
-  public String toString() { return storage.toString(); }
+public class Stack<T> implements Iterable<T> {
+  // The top is at storage[size - 1], so push() and pop()
+  // touch one slot and allocate nothing until it grows:
+  private Object[] storage = new Object[16];
+  private int size;
+  public void push(T v) {
+    if(size == storage.length)
+      storage = Arrays.copyOf(storage, size * 2);
+    storage[size++] = v;
+  }
+  @SuppressWarnings("unchecked")
+  public T peek() {
+    if(size == 0)
+      throw new NoSuchElementException();
+    return (T)storage[size - 1];
+  }
+  public T pop() {
+    T v = peek();
+    storage[--size] = null; // Let it be collected
+    return v;
+  }
+  public boolean empty() { return size == 0; }
+  public boolean isEmpty() { return size == 0; }
+  public int size() { return size; }
+  public void clear() {
+    Arrays.fill(storage, 0, size, null);
+    size = 0;
+  }
+  // From the top down, the order pop() would produce:
+  public Iterator<T> iterator() {
+    return new Iterator<T>() {
+      private int index = size;
+      public boolean hasNext() { return index > 0; }
+      @SuppressWarnings("unchecked")
+      public T next() {
+        if(index == 0)
+          throw new NoSuchElementException();
+        return (T)storage[--index];
+      }
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int i = size - 1; i >= 0; i--) {
+      result.append(storage[i]);
+      if(i > 0)
+        result.append(", ");
+    }
+    return result.append("]").toString();
+  }
 } ///:~
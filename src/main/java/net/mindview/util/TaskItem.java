@@ -6,8 +6,21 @@ import java.util.concurrent.*;
 public class TaskItem<R,C extends Callable<R>> {
   public final Future<R> future;
   public final C task;
+  // Marks a time not yet recorded. System.nanoTime() may
+  // be zero or negative, but not this:
+  static final long NONE = Long.MIN_VALUE;
+  // Timestamps, recorded by TaskManager:
+  volatile long submitted, started = NONE, finished = NONE;
   public TaskItem(Future<R> future, C task) {
     this.future = future;
     this.task = task;
   }
+  // Time spent waiting for a thread, or -1 if not started:
+  public long queueWaitNanos() {
+    return started == NONE ? -1 : started - submitted;
+  }
+  // Submission to completion, or -1 if not finished:
+  public long latencyNanos() {
+    return finished == NONE ? -1 : finished - submitted;
+  }
 } ///:~
@@ -2,43 +2,160 @@
 // Managing and executing a queue of tasks.
 package net.mindview.util;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import java.util.*;
 
 public class TaskManager<R,C extends Callable<R>>
-extends ArrayList<TaskItem<R,C>> {
-  private ExecutorService exec =
-    Executors.newSingleThreadExecutor();
-  public void add(C task) {
-    add(new TaskItem<R,C>(exec.submit(task),task));
+implements Iterable<TaskItem<R,C>> {
+  private final ExecutorService exec;
+  // Each task is in exactly one of these until its result
+  // is drained, so nothing is ever rescanned:
+  private final Set<TaskItem<R,C>> outstanding =
+    Collections.newSetFromMap(
+      new ConcurrentHashMap<TaskItem<R,C>,Boolean>());
+  private final BlockingQueue<TaskItem<R,C>> completed =
+    new LinkedBlockingQueue<TaskItem<R,C>>();
+  private final AtomicLong finishedTasks = new AtomicLong();
+  private final AtomicLong totalQueueWait = new AtomicLong();
+  private final AtomicLong totalLatency = new AtomicLong();
+  private final AtomicLong maxLatency = new AtomicLong();
+  public TaskManager() {
+    this(Executors.newSingleThreadExecutor());
   }
-  public List<R> getResults() {
-    Iterator<TaskItem<R,C>> items = iterator();
+  public TaskManager(int threads) {
+    this(Executors.newFixedThreadPool(threads));
+  }
+  // Any executor, e.g. one virtual thread per task
+  // on Java 21 and later:
+  public TaskManager(ExecutorService exec) {
+    this.exec = exec;
+  }
+  // Records its timing and queues itself when done:
+  private class Tracked extends FutureTask<R> {
+    TaskItem<R,C> item;
+    Tracked(C task) { super(task); }
+    public void run() {
+      if(item.started == TaskItem.NONE)
+        item.started = System.nanoTime();
+      super.run();
+    }
+    protected void done() {
+      item.finished = System.nanoTime();
+      outstanding.remove(item);
+      if(isCancelled())
+        return;
+      finishedTasks.incrementAndGet();
+      if(item.started != TaskItem.NONE)
+        totalQueueWait.addAndGet(item.queueWaitNanos());
+      long latency = item.latencyNanos();
+      totalLatency.addAndGet(latency);
+      for(long max = maxLatency.get(); latency > max;
+          max = maxLatency.get())
+        if(maxLatency.compareAndSet(max, latency))
+          break;
+      completed.add(item);
+    }
+  }
+  public TaskItem<R,C> add(C task) {
+    Tracked future = new Tracked(task);
+    TaskItem<R,C> item = new TaskItem<R,C>(future, task);
+    future.item = item;
+    item.submitted = System.nanoTime();
+    outstanding.add(item);
+    try {
+      exec.execute(future);
+    } catch(RejectedExecutionException e) {
+      // Shut down or full; don't report a phantom task:
+      outstanding.remove(item);
+      throw e;
+    }
+    return item;
+  }
+  // Batch submission:
+  public List<TaskItem<R,C>>
+  addAll(Collection<? extends C> tasks) {
+    List<TaskItem<R,C>> items =
+      new ArrayList<TaskItem<R,C>>(tasks.size());
+    for(C task : tasks)
+      items.add(add(task));
+    return items;
+  }
+  // Up to max results of finished tasks, in the order
+  // they finished, without waiting. A failed task throws
+  // once the results before it have been returned:
+  public List<R> drainResults(int max) {
+    return drain(null, max);
+  }
+  // Waits up to timeout for a first result:
+  public List<R> drainResults(int max, long timeout,
+      TimeUnit unit) throws InterruptedException {
+    TaskItem<R,C> first = completed.poll(timeout, unit);
+    if(first == null)
+      return new ArrayList<R>();
+    return drain(first, max);
+  }
+  private List<R> drain(TaskItem<R,C> first, int max) {
     List<R> results = new ArrayList<R>();
-    while(items.hasNext()) {
-      TaskItem<R,C> item = items.next();
-      if(item.future.isDone()) {
-        try {
-          results.add(item.future.get());
-        } catch(Exception e) {
-          throw new RuntimeException(e);
-        }
-        items.remove();
+    if(first != null)
+      results.add(resultOf(first));
+    TaskItem<R,C> item;
+    while(results.size() < max &&
+          (item = completed.peek()) != null) {
+      R result;
+      try {
+        result = resultOf(item);
+      } catch(RuntimeException e) {
+        if(!results.isEmpty())
+          break; // Report it on the next call
+        if(completed.remove(item))
+          throw e;
+        continue;
       }
+      // Another thread may have drained it first:
+      if(completed.remove(item))
+        results.add(result);
     }
     return results;
   }
+  private R resultOf(TaskItem<R,C> item) {
+    try {
+      return item.future.get(); // Already done
+    } catch(Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+  public List<R> getResults() {
+    return drainResults(Integer.MAX_VALUE);
+  }
+  // Cancel everything still running or waiting. Finished
+  // tasks stay queued for results reporting:
   public List<String> purge() {
-    Iterator<TaskItem<R,C>> items = iterator();
     List<String> results = new ArrayList<String>();
-    while(items.hasNext()) {
-      TaskItem<R,C> item = items.next();
-      // Leave completed tasks for results reporting:
-      if(!item.future.isDone()) {
+    for(TaskItem<R,C> item : outstanding) {
+      if(item.future.cancel(true)) // May interrupt
         results.add("Cancelling " + item.task);
-        item.future.cancel(true); // May interrupt
-        items.remove();
-      }
     }
     return results;
   }
+  // Unfinished tasks, then those with undrained results:
+  public Iterator<TaskItem<R,C>> iterator() {
+    List<TaskItem<R,C>> all =
+      new ArrayList<TaskItem<R,C>>(outstanding);
+    all.addAll(completed);
+    return all.iterator();
+  }
+  public int size() {
+    return outstanding.size() + completed.size();
+  }
+  public long finishedTasks() { return finishedTasks.get(); }
+  public long meanQueueWaitNanos() {
+    long n = finishedTasks.get();
+    return n == 0 ? 0 : totalQueueWait.get() / n;
+  }
+  public long meanLatencyNanos() {
+    long n = finishedTasks.get();
+    return n == 0 ? 0 : totalLatency.get() / n;
+  }
+  public long maxLatencyNanos() { return maxLatency.get(); }
+  public void shutdown() { exec.shutdown(); }
 } ///:~
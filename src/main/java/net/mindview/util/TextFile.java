@@ -1,9 +1,16 @@
 //: net/mindview/util/TextFile.java
 // Static functions for reading and writing text files as
 // a single string, and treating a file as an ArrayList.
+// Large files can be streamed a line or token at a time.
 package net.mindview.util;
 import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.regex.*;
 
 public class TextFile extends ArrayList<String> {
   // Read a file as a single string:
@@ -65,6 +72,294 @@ public class TextFile extends ArrayList<String> {
       throw new RuntimeException(e);
     }
   }
+  // Stream the lines of a file of any size, decoding it
+  // from memory-mapped segments. Each CharSequence is a
+  // reused buffer, valid only until the iterator moves
+  // on; call toString() to keep one:
+  public static Iterable<CharSequence>
+  lines(String fileName, final Charset charset) {
+    final File file = new File(fileName).getAbsoluteFile();
+    return new Iterable<CharSequence>() {
+      public Iterator<CharSequence> iterator() {
+        return new LineIterator(file, charset);
+      }
+    };
+  }
+  // Stream the tokens between matches of splitter. Tokens
+  // never span lines, and empty tokens are skipped:
+  public static Iterable<CharSequence> tokens(
+      String fileName, final String splitter,
+      final Charset charset) {
+    final File file = new File(fileName).getAbsoluteFile();
+    final Pattern p = Pattern.compile(splitter);
+    return new Iterable<CharSequence>() {
+      public Iterator<CharSequence> iterator() {
+        return new TokenIterator(
+          new LineIterator(file, charset), p);
+      }
+    };
+  }
+  // Process the lines of a large file on a fork/join pool.
+  // The file is cut into chunks at line breaks, and the
+  // action is called from many threads at once:
+  public static void parallelLines(String fileName,
+      Charset charset,
+      final Consumer<? super CharSequence> action) {
+    parallelLines(fileName, charset,
+      new Supplier<Void>() {
+        public Void get() { return null; }
+      },
+      new BiConsumer<Void,CharSequence>() {
+        public void accept(Void v, CharSequence line) {
+          action.accept(line);
+        }
+      },
+      new BinaryOperator<Void>() {
+        public Void apply(Void a, Void b) { return null; }
+      });
+  }
+  // Map-reduce over the lines: each chunk accumulates into
+  // its own container from the supplier, then containers
+  // are combined in file order:
+  public static <R> R parallelLines(String fileName,
+      Charset charset, Supplier<R> supplier,
+      BiConsumer<R,? super CharSequence> accumulator,
+      BinaryOperator<R> combiner) {
+    if(!Arrays.equals("\n".getBytes(charset),
+        new byte[]{ '\n' }))
+      throw new IllegalArgumentException(charset +
+        " does not encode line breaks as single bytes");
+    File file = new File(fileName).getAbsoluteFile();
+    return ForkJoinPool.commonPool().invoke(new ChunkTask<R>(
+      file, charset, chunks(file), 0, -1,
+      supplier, accumulator, combiner));
+  }
+  static final long PARALLEL_CHUNK = 1L << 22;
+  // Chunk boundaries, each just past a line break:
+  private static long[] chunks(File file) {
+    long length = file.length();
+    List<Long> bounds = new ArrayList<Long>();
+    bounds.add(0L);
+    try {
+      FileChannel fc = new FileInputStream(file).getChannel();
+      try {
+        long position = PARALLEL_CHUNK;
+        while(position < length) {
+          ByteBuffer window = fc.map(
+            FileChannel.MapMode.READ_ONLY, position,
+            Math.min(8192, length - position));
+          boolean found = false;
+          while(!found && window.hasRemaining())
+            found = window.get() == '\n';
+          position += window.position();
+          if(found) {
+            if(position < length)
+              bounds.add(position);
+            position += PARALLEL_CHUNK;
+          }
+          // Otherwise keep looking in the next window
+        }
+      } finally {
+        fc.close();
+      }
+    } catch(IOException e) {
+      throw new RuntimeException(e);
+    }
+    bounds.add(length);
+    long[] result = new long[bounds.size()];
+    for(int i = 0; i < result.length; i++)
+      result[i] = bounds.get(i);
+    return result;
+  }
+  private static class ChunkTask<R> extends RecursiveTask<R> {
+    private final File file;
+    private final Charset charset;
+    private final long[] bounds;
+    private final int lo, hi; // Chunks [lo, hi)
+    private final Supplier<R> supplier;
+    private final BiConsumer<R,? super CharSequence> accumulator;
+    private final BinaryOperator<R> combiner;
+    ChunkTask(File file, Charset charset, long[] bounds,
+        int lo, int hi, Supplier<R> supplier,
+        BiConsumer<R,? super CharSequence> accumulator,
+        BinaryOperator<R> combiner) {
+      this.file = file;
+      this.charset = charset;
+      this.bounds = bounds;
+      this.lo = lo;
+      this.hi = hi < 0 ? bounds.length - 1 : hi;
+      this.supplier = supplier;
+      this.accumulator = accumulator;
+      this.combiner = combiner;
+    }
+    protected R compute() {
+      if(hi - lo <= 1) {
+        R result = supplier.get();
+        if(lo < hi) {
+          Iterator<CharSequence> it = new LineIterator(
+            file, charset, bounds[lo], bounds[hi]);
+          while(it.hasNext())
+            accumulator.accept(result, it.next());
+        }
+        return result;
+      }
+      int mid = (lo + hi) >>> 1;
+      ChunkTask<R> left = new ChunkTask<R>(file, charset,
+        bounds, lo, mid, supplier, accumulator, combiner);
+      ChunkTask<R> right = new ChunkTask<R>(file, charset,
+        bounds, mid, hi, supplier, accumulator, combiner);
+      left.fork();
+      R r = right.compute();
+      return combiner.apply(left.join(), r);
+    }
+  }
+  static class LineIterator implements Iterator<CharSequence> {
+    // Bytes mapped at once; files over 2 GB take several:
+    static final long SEGMENT = 1L << 26;
+    private final File file;
+    private final long start, end;
+    private final CharsetDecoder decoder;
+    private final CharBuffer out = CharBuffer.allocate(8192);
+    private final StringBuilder line = new StringBuilder();
+    private MappedByteBuffer in;
+    private long mappedStart, mappedEnd;
+    private boolean ready, decoded;
+    LineIterator(File file, Charset charset) {
+      this(file, charset, 0, file.length());
+    }
+    // Only the bytes in [start, end):
+    LineIterator(File file, Charset charset,
+        long start, long end) {
+      this.file = file;
+      this.start = start;
+      this.end = end;
+      decoder = charset.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      out.flip(); // Nothing decoded yet
+    }
+    public boolean hasNext() {
+      if(!ready)
+        ready = readLine();
+      return ready;
+    }
+    public CharSequence next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      ready = false;
+      return line;
+    }
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+    private boolean readLine() {
+      line.setLength(0);
+      char[] a = out.array();
+      do {
+        int start = out.position(), limit = out.limit();
+        for(int i = start; i < limit; i++)
+          if(a[i] == '\n') {
+            line.append(a, start, i - start);
+            out.position(i + 1);
+            int last = line.length() - 1;
+            if(last >= 0 && line.charAt(last) == '\r')
+              line.setLength(last);
+            return true;
+          }
+        line.append(a, start, limit - start);
+        out.position(limit);
+      } while(decode());
+      // The last line may have no line terminator:
+      return line.length() > 0;
+    }
+    // Refill out from the mapped file:
+    private boolean decode() {
+      if(decoded)
+        return false;
+      out.clear();
+      try {
+        while(true) {
+          if(in == null)
+            map(start);
+          boolean last = mappedEnd == end;
+          if(decoder.decode(in, out, last).isOverflow())
+            break;
+          if(!last) {
+            // Carry any partial character into the next map:
+            map(mappedStart + in.position());
+            continue;
+          }
+          if(decoder.flush(out).isUnderflow())
+            decoded = true;
+          break;
+        }
+      } catch(IOException e) {
+        throw new RuntimeException(e);
+      }
+      out.flip();
+      return out.hasRemaining();
+    }
+    private void map(long position) throws IOException {
+      FileChannel fc = new FileInputStream(file).getChannel();
+      try {
+        long size = Math.min(SEGMENT, end - position);
+        // The mapping stays valid after the channel closes:
+        in = fc.map(FileChannel.MapMode.READ_ONLY,
+          position, size);
+        mappedStart = position;
+        mappedEnd = position + size;
+      } finally {
+        fc.close();
+      }
+    }
+  }
+  static class TokenIterator implements Iterator<CharSequence> {
+    private final Iterator<CharSequence> lines;
+    private final Matcher m;
+    private final StringBuilder token = new StringBuilder();
+    private CharSequence line;
+    private int from;
+    private boolean ready;
+    TokenIterator(Iterator<CharSequence> lines, Pattern p) {
+      this.lines = lines;
+      m = p.matcher("");
+    }
+    public boolean hasNext() {
+      while(!ready) {
+        if(line == null) {
+          if(!lines.hasNext())
+            return false;
+          line = lines.next();
+          m.reset(line);
+          from = 0;
+        }
+        CharSequence current = line;
+        int start = from, to;
+        if(m.find()) {
+          to = m.start();
+          from = m.end();
+        } else {
+          to = current.length();
+          line = null; // Move on to the next line
+        }
+        if(to > start) {
+          token.setLength(0);
+          token.append(current, start, to);
+          ready = true;
+        }
+      }
+      return true;
+    }
+    public CharSequence next() {
+      if(!hasNext())
+        throw new NoSuchElementException();
+      ready = false;
+      return token;
+    }
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
   // Simple test:
   public static void main(String[] args) {
     String file = read("TextFile.java");
@@ -76,7 +371,15 @@ public class TextFile extends ArrayList<String> {
       new TextFile("TextFile.java", "\\W+"));
     // Display the capitalized words:
     System.out.println(words.headSet("a"));
+    // Stream the same words without reading the file
+    // into memory first:
+    TreeSet<String> streamed = new TreeSet<String>();
+    for(CharSequence word : tokens("TextFile.java", "\\W+",
+        Charset.forName("UTF-8")))
+      streamed.add(word.toString());
+    System.out.println(streamed.equals(words));
   }
 } /* Output:
-[0, ArrayList, Arrays, Break, BufferedReader, BufferedWriter, Clean, Display, File, FileReader, FileWriter, IOException, Normally, Output, PrintWriter, Read, Regular, RuntimeException, Simple, Static, String, StringBuilder, System, TextFile, Tools, TreeSet, W, Write]
+[0, 0L, 1, 1L, 2, 22, 26, 8, 8192, ArrayList, Arrays, BiConsumer, BinaryOperator, Break, BufferedReader, BufferedWriter, ByteBuffer, Bytes, Carry, CharBuffer, CharSequence, Charset, CharsetDecoder, Chunk, ChunkTask, Chunks, Clean, CodingErrorAction, Consumer, Display, Each, File, FileChannel, FileInputStream, FileReader, FileWriter, ForkJoinPool, GB, IOException, IllegalArgumentException, Iterable, Iterator, Large, LineIterator, List, Long, Map, MapMode, MappedByteBuffer, Matcher, Math, Move, NoSuchElementException, Normally, Nothing, Only, Otherwise, Output, PARALLEL_CHUNK, Pattern, PrintWriter, Process, R, READ_ONLY, REPLACE, Read, RecursiveTask, Refill, Regular, RuntimeException, SEGMENT, Simple, Static, Stream, String, StringBuilder, Supplier, System, TextFile, The, TokenIterator, Tokens, Tools, TreeSet, UTF, UnsupportedOperationException, Void, W, Write]
+true
 *///:~
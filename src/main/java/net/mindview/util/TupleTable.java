@@ -0,0 +1,207 @@
+//: net/mindview/util/TupleTable.java
+// Tuples stored column by column: each slot is its own
+// array, of a primitive type where possible, rather than
+// one object per tuple.
+package net.mindview.util;
+
+public class TupleTable {
+  private final Class<?>[] types;
+  // int[], long[], double[] or Object[], one per slot:
+  private final Object[] columns;
+  private int capacity = 16, size;
+  // int.class, long.class or double.class give primitive
+  // columns; any other type is held as an Object:
+  public TupleTable(Class<?>... types) {
+    if(types.length == 0)
+      throw new IllegalArgumentException("No columns");
+    this.types = types.clone();
+    columns = new Object[types.length];
+    for(int col = 0; col < types.length; col++)
+      columns[col] = newColumn(types[col], capacity);
+  }
+  private static Object newColumn(Class<?> type, int length) {
+    if(type == int.class) return new int[length];
+    if(type == long.class) return new long[length];
+    if(type == double.class) return new double[length];
+    return new Object[length];
+  }
+  public int size() { return size; }
+  public int columns() { return types.length; }
+  // Appends a row of zeros and nulls; returns its index:
+  public int addRow() {
+    if(size == capacity) {
+      capacity *= 2;
+      for(int col = 0; col < columns.length; col++) {
+        Object bigger = newColumn(types[col], capacity);
+        System.arraycopy(columns[col], 0, bigger, 0, size);
+        columns[col] = bigger;
+      }
+    }
+    return size++;
+  }
+  // Appends the slots of a TwoTuple through FiveTuple,
+  // unboxing into the primitive columns. Every slot is
+  // checked first, so a bad one leaves no partial row:
+  public int add(TwoTuple<?,?> t) {
+    Object[] values = slots(t);
+    if(values.length != columns.length)
+      throw new IllegalArgumentException(values.length +
+        " slots in " + t + ", " + columns.length + " columns");
+    for(int col = 0; col < values.length; col++)
+      values[col] = checked(col, values[col]);
+    int row = addRow();
+    for(int col = 0; col < values.length; col++)
+      store(row, col, values[col]);
+    return row;
+  }
+  private static Object[] slots(TwoTuple<?,?> t) {
+    if(t instanceof FiveTuple) {
+      FiveTuple<?,?,?,?,?> f = (FiveTuple<?,?,?,?,?>)t;
+      return new Object[]{
+        f.first, f.second, f.third, f.fourth, f.fifth };
+    }
+    if(t instanceof FourTuple) {
+      FourTuple<?,?,?,?> f = (FourTuple<?,?,?,?>)t;
+      return new Object[]{
+        f.first, f.second, f.third, f.fourth };
+    }
+    if(t instanceof ThreeTuple) {
+      ThreeTuple<?,?,?> f = (ThreeTuple<?,?,?>)t;
+      return new Object[]{ f.first, f.second, f.third };
+    }
+    return new Object[]{ t.first, t.second };
+  }
+  // Rebuilds a boxed tuple, for code that expects one:
+  public TwoTuple<?,?> tuple(int row) {
+    Object[] v = new Object[columns.length];
+    for(int col = 0; col < v.length; col++)
+      v[col] = get(row, col);
+    switch(v.length) {
+      case 1: throw new IllegalStateException(
+        "One column isn't a tuple");
+      case 2: return Tuple.tuple(v[0], v[1]);
+      case 3: return Tuple.tuple(v[0], v[1], v[2]);
+      case 4: return Tuple.tuple(v[0], v[1], v[2], v[3]);
+      case 5:
+        return Tuple.tuple(v[0], v[1], v[2], v[3], v[4]);
+      default: throw new IllegalStateException(
+        v.length + " columns is more than FiveTuple holds");
+    }
+  }
+  private void check(int row) {
+    if(row < 0 || row >= size)
+      throw new IndexOutOfBoundsException(
+        "Row: " + row + ", Size: " + size);
+  }
+  // A ClassCastException means the wrong accessor for
+  // that column's type:
+  public int getInt(int row, int col) {
+    check(row);
+    return ((int[])columns[col])[row];
+  }
+  public long getLong(int row, int col) {
+    check(row);
+    return ((long[])columns[col])[row];
+  }
+  public double getDouble(int row, int col) {
+    check(row);
+    return ((double[])columns[col])[row];
+  }
+  // Any column, boxing primitives:
+  public Object get(int row, int col) {
+    check(row);
+    Object column = columns[col];
+    if(column instanceof int[]) return ((int[])column)[row];
+    if(column instanceof long[]) return ((long[])column)[row];
+    if(column instanceof double[])
+      return ((double[])column)[row];
+    return ((Object[])column)[row];
+  }
+  public void setInt(int row, int col, int value) {
+    check(row);
+    ((int[])columns[col])[row] = value;
+  }
+  public void setLong(int row, int col, long value) {
+    check(row);
+    ((long[])columns[col])[row] = value;
+  }
+  public void setDouble(int row, int col, double value) {
+    check(row);
+    ((double[])columns[col])[row] = value;
+  }
+  // Any column. A primitive column takes its own wrapper,
+  // or a narrower one that widens without loss, such as
+  // an Integer for a long column:
+  public void set(int row, int col, Object value) {
+    check(row);
+    store(row, col, checked(col, value));
+  }
+  private Object checked(int col, Object value) {
+    Object column = columns[col];
+    if(column instanceof Object[])
+      return types[col].cast(value);
+    boolean exact = value instanceof Integer ||
+      value instanceof Short || value instanceof Byte;
+    if(column instanceof long[])
+      exact = exact || value instanceof Long;
+    else if(column instanceof double[])
+      exact = exact ||
+        value instanceof Double || value instanceof Float;
+    if(!exact)
+      throw new ClassCastException("Column " + col + " is " +
+        types[col] + ", so it can't hold " + value +
+        (value == null ? "" :
+         " (" + value.getClass().getSimpleName() + ")"));
+    return value;
+  }
+  private void store(int row, int col, Object value) {
+    Object column = columns[col];
+    if(column instanceof int[])
+      ((int[])column)[row] = ((Number)value).intValue();
+    else if(column instanceof long[])
+      ((long[])column)[row] = ((Number)value).longValue();
+    else if(column instanceof double[])
+      ((double[])column)[row] = ((Number)value).doubleValue();
+    else
+      ((Object[])column)[row] = value;
+  }
+  // Moves over the rows in place. One Cursor serves a
+  // whole scan, so nothing is allocated per row:
+  public Cursor cursor() { return new Cursor(); }
+  public class Cursor {
+    private int row = -1;
+    public boolean next() { return ++row < size; }
+    public int row() { return row; }
+    public void reset() { row = -1; }
+    public int getInt(int col) {
+      check(row);
+      return ((int[])columns[col])[row];
+    }
+    public long getLong(int col) {
+      check(row);
+      return ((long[])columns[col])[row];
+    }
+    public double getDouble(int col) {
+      check(row);
+      return ((double[])columns[col])[row];
+    }
+    public Object get(int col) {
+      return TupleTable.this.get(row, col);
+    }
+  }
+  public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int row = 0; row < size; row++) {
+      if(row > 0)
+        result.append(", ");
+      result.append("(");
+      for(int col = 0; col < columns.length; col++) {
+        if(col > 0)
+          result.append(", ");
+        result.append(get(row, col));
+      }
+      result.append(")");
+    }
+    return result.append("]").toString();
+  }
+} ///:~
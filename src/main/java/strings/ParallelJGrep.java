@@ -0,0 +1,78 @@
+//: strings/ParallelJGrep.java
+package strings;
+// JGrep for very large files: chunks of the file are
+// searched on all cores, and the matches are combined
+// in file order.
+// {Args: ParallelJGrep.java "\\b[Ssct]\\w+"}
+import java.nio.charset.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.regex.*;
+import net.mindview.util.*;
+
+public class ParallelJGrep {
+  // One per chunk, so no Matcher is shared:
+  static class Matches {
+    final Matcher m;
+    final List<String> found = new ArrayList<String>();
+    Matches(Pattern p) { m = p.matcher(""); }
+  }
+  public static void main(String[] args) throws Exception {
+    if(args.length < 2) {
+      System.out.println("Usage: java ParallelJGrep file regex");
+      System.exit(0);
+    }
+    final Pattern p = Pattern.compile(args[1]);
+    Matches result = TextFile.parallelLines(args[0],
+      Charset.forName("UTF-8"),
+      new Supplier<Matches>() {
+        public Matches get() { return new Matches(p); }
+      },
+      new BiConsumer<Matches,CharSequence>() {
+        public void accept(Matches ms, CharSequence line) {
+          ms.m.reset(line);
+          while(ms.m.find())
+            ms.found.add(ms.m.group() + ": " + ms.m.start());
+        }
+      },
+      new BinaryOperator<Matches>() {
+        public Matches apply(Matches a, Matches b) {
+          a.found.addAll(b.found);
+          return a;
+        }
+      });
+    int index = 0;
+    for(String match : result.found)
+      System.out.println(index++ + ": " + match);
+  }
+} /* Output: (Sample)
+0: strings: 4
+1: strings: 8
+2: chunks: 31
+3: the: 41
+4: searched: 3
+5: cores: 19
+6: the: 30
+7: combined: 46
+8: Ssct: 34
+9: charset: 16
+10: class: 7
+11: chunk: 13
+12: so: 20
+13: shared: 37
+14: static: 2
+15: class: 9
+16: String: 15
+17: String: 45
+18: static: 9
+19: String: 26
+20: throws: 41
+21: System: 6
+22: System: 6
+23: compile: 30
+24: Supplier: 10
+25: start: 52
+26: String: 8
+27: System: 6
+28: Sample: 14
+*///:~
@@ -2,6 +2,8 @@
 // Creates random sequences of Pets.
 package typeinfo.pets;
 import java.util.*;
+import java.util.function.*;
+import net.mindview.util.*;
 
 public abstract class PetCreator {
   private Random rand = new Random(47);
@@ -9,18 +11,21 @@ public abstract class PetCreator {
   public abstract List<Class<? extends Pet>> types();
   public Pet randomPet() { // Create one random Pet
     int n = rand.nextInt(types().size());
-    try {
-      return types().get(n).newInstance();
-    } catch(InstantiationException e) {
-      throw new RuntimeException(e);
-    } catch(IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
-  }	
+    // The constructor is bound once per class:
+    return Constructors.create(types().get(n));
+  }
+  // Binds each type's constructor once for the whole
+  // array, and makes the same choices as randomPet():
   public Pet[] createArray(int size) {
+    List<Class<? extends Pet>> types = types();
+    List<Supplier<? extends Pet>> constructors =
+      new ArrayList<Supplier<? extends Pet>>(types.size());
+    for(Class<? extends Pet> type : types)
+      constructors.add(Constructors.supplier(type));
     Pet[] result = new Pet[size];
     for(int i = 0; i < size; i++)
-      result[i] = randomPet();
+      result[i] =
+        constructors.get(rand.nextInt(constructors.size())).get();
     return result;
   }
   public ArrayList<Pet> arrayList(int size) {